@@ -0,0 +1,59 @@
+package com.SalesFlowLite.inventory.benchmarks;
+
+import com.SalesFlowLite.inventory.security.JwtService;
+import com.SalesFlowLite.inventory.security.JwtSigningKeys;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost per access token for each supported algorithm.
+ *
+ * HS256 is the old shared-secret path; RS256 (default) and ES256 let other
+ * services verify with the public key from /.well-known/jwks.json.
+ * Verification runs with the verified-token cache disabled, i.e. the cost
+ * of the first request carrying a given token.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtSigningBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"HS256", "ES256", "RS256"})
+    public String algorithm;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtSigningKeys keys = new JwtSigningKeys(algorithm, "", 168, TimeUnit.HOURS.toMillis(1), true);
+        keys.init();
+
+        jwtService = new JwtService(keys);
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "accessTokenExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpirationMs", TimeUnit.DAYS.toMillis(14));
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 0);
+        jwtService.init();
+
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken("+255700000001", "USER", "bench");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.verifyAccessToken(token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.SalesFlowLite.inventory.benchmarks;
+
+import com.SalesFlowLite.inventory.security.JwtService;
+import com.SalesFlowLite.inventory.security.JwtSigningKeys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ *
+ * legacyTripleParse – what JwtAuthenticationFilter used to do: extractPhoneNumber,
+ *                     isAccessTokenValid and isTokenExpired, each building a fresh
+ *                     SecretKey and JwtParser and verifying the HMAC again.
+ * verifyUncached    – one verifyAccessToken with the cache disabled (first sight of a token).
+ * verifyCached      – one verifyAccessToken for a token already verified (repeat requests).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    private static final String PHONE = "+255700000001";
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = newJwtService(10_000);
+        uncachedService = newJwtService(0);
+        token = cachedService.generateAccessToken(PHONE, "USER", "bench");
+        cachedService.verifyAccessToken(token);
+    }
+
+    private static JwtService newJwtService(int cacheSize) {
+        JwtSigningKeys keys = new JwtSigningKeys("HS256", "", 168, TimeUnit.HOURS.toMillis(1), true);
+        keys.init();
+        JwtService service = new JwtService(keys);
+        ReflectionTestUtils.setField(service, "secret", SECRET);
+        ReflectionTestUtils.setField(service, "accessTokenExpirationMs", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(service, "refreshTokenExpirationMs", TimeUnit.DAYS.toMillis(14));
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", cacheSize);
+        service.init();
+        return service;
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse() {
+        String phone = legacyParse(token).getSubject();
+        boolean valid = phone.equals(legacyParse(token).getSubject());
+        boolean expired = legacyParse(token).getExpiration().before(new Date());
+        return valid && !expired;
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return uncachedService.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachedService.verifyAccessToken(token);
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,48 @@
+package com.SalesFlowLite.inventory.benchmarks;
+
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fakes;
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.SalesFlowLite.inventory.model.dto.ProductDto;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.repository.InventoryRepository;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.service.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductServiceImpl catalog reads over an in-memory repository.
+ *
+ * getAllProducts – entity → ProductDto builder mapping (toDto) for the whole
+ *                  catalog; what every full catalog download pays per product.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int products;
+
+    private ProductServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = Fixtures.products(products, Fixtures.DEFAULT_SEED);
+        ProductRepository productRepository = Fakes.of(ProductRepository.class)
+                .on("findAll", args -> catalog)
+                .build();
+        // EntityManager and event publisher are only used by write paths
+        service = new ProductServiceImpl(productRepository, Fakes.of(InventoryRepository.class).build(), null, null);
+    }
+
+    @Benchmark
+    public List<ProductDto> getAllProducts() {
+        return service.getAllProducts();
+    }
+}
@@ -0,0 +1,105 @@
+package com.SalesFlowLite.inventory.benchmarks;
+
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fakes;
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.SalesFlowLite.inventory.model.dto.SaleResponse;
+import com.SalesFlowLite.inventory.model.dto.SalesHistoryDto;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.model.entity.Sale;
+import com.SalesFlowLite.inventory.model.entity.SaleItem;
+import com.SalesFlowLite.inventory.monitoring.CheckoutMetrics;
+import com.SalesFlowLite.inventory.monitoring.LockContentionTracker;
+import com.SalesFlowLite.inventory.repository.SaleRepository;
+import com.SalesFlowLite.inventory.service.ProductService;
+import com.SalesFlowLite.inventory.service.impl.SaleServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SaleServiceImpl read paths over in-memory repositories.
+ *
+ * getAllSales    – entity → SaleResponse mapping (toResponse) for every sale,
+ *                  including the BigDecimal → double conversions at the boundary.
+ * salesHistory   – getProductSalesHistoryBySku: groupingBy sale date with
+ *                  summingInt, then sort by date string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaleServiceBenchmark {
+
+    private static final List<Product> CATALOG = Fixtures.products(500, Fixtures.DEFAULT_SEED);
+
+    // Separate states so each benchmark only expands its own parameters
+
+    @State(Scope.Benchmark)
+    public static class AllSales {
+
+        @Param({"100", "1000"})
+        public int sales;
+
+        @Param({"3", "12"})
+        public int maxBasket;
+
+        SaleServiceImpl service;
+
+        @Setup
+        public void setUp() {
+            List<Sale> allSales = Fixtures.sales(CATALOG, sales, maxBasket, 90, Fixtures.DEFAULT_SEED);
+            SaleRepository saleRepository = Fakes.of(SaleRepository.class)
+                    .on("findAll", args -> allSales)
+                    .build();
+            service = newService(saleRepository, Fakes.of(ProductService.class).build());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class History {
+
+        @Param({"30", "365"})
+        public int days;
+
+        @Param({"2", "20"})
+        public int linesPerDay;
+
+        SaleServiceImpl service;
+        String sku;
+
+        @Setup
+        public void setUp() {
+            Product product = CATALOG.get(0);
+            List<SaleItem> history = Fixtures.productHistory(product, days, linesPerDay, Fixtures.DEFAULT_SEED);
+            SaleRepository saleRepository = Fakes.of(SaleRepository.class)
+                    .on("findSaleItemsByProductAndDate", args -> history)
+                    .build();
+            ProductService productService = Fakes.of(ProductService.class)
+                    .on("findProductEntityBySku", args -> product)
+                    .build();
+            service = newService(saleRepository, productService);
+            sku = product.getSku();
+        }
+    }
+
+    private static SaleServiceImpl newService(SaleRepository saleRepository, ProductService productService) {
+        // Offline ledger is only touched by recordOfflineSale
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new SaleServiceImpl(saleRepository, productService, null,
+                new CheckoutMetrics(meterRegistry), new LockContentionTracker(meterRegistry, 30, 5000),
+                event -> { });
+    }
+
+    @Benchmark
+    public List<SaleResponse> getAllSales(AllSales state) {
+        return state.service.getAllSales();
+    }
+
+    @Benchmark
+    public List<SalesHistoryDto> salesHistory(History state) {
+        return state.service.getProductSalesHistoryBySku(state.sku, state.days);
+    }
+}
@@ -0,0 +1,76 @@
+package com.SalesFlowLite.inventory.benchmarks;
+
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.model.entity.Sale;
+import com.SalesFlowLite.inventory.model.entity.SaleItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal arithmetic used when totalling sales.
+ *
+ * checkoutLoop  – unitPrice × quantity then running add, as in processSaleItems.
+ * streamReduce  – the same total through map/reduce over the stored subtotals.
+ * toDoubleSum   – the boundary conversion done by toResponse (doubleValue per line).
+ *
+ * One invocation totals every sale in the fixture, so the score is per batch.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SaleTotalsBenchmark {
+
+    @Param({"1000"})
+    public int sales;
+
+    @Param({"3", "12"})
+    public int maxBasket;
+
+    private List<Sale> fixture;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = Fixtures.products(500, Fixtures.DEFAULT_SEED);
+        fixture = Fixtures.sales(catalog, sales, maxBasket, 90, Fixtures.DEFAULT_SEED);
+    }
+
+    @Benchmark
+    public BigDecimal checkoutLoop() {
+        BigDecimal grand = BigDecimal.ZERO;
+        for (Sale sale : fixture) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (SaleItem item : sale.getItems()) {
+                total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            }
+            grand = grand.add(total);
+        }
+        return grand;
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return fixture.stream()
+                .flatMap(sale -> sale.getItems().stream())
+                .map(SaleItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public double toDoubleSum() {
+        double sum = 0;
+        for (Sale sale : fixture) {
+            for (SaleItem item : sale.getItems()) {
+                sum += item.getUnitPrice().doubleValue() + item.getSubtotal().doubleValue();
+            }
+            sum += sale.getTotalAmount().doubleValue();
+        }
+        return sum;
+    }
+}
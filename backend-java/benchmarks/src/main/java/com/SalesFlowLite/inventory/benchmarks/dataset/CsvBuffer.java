@@ -0,0 +1,110 @@
+package com.SalesFlowLite.inventory.benchmarks.dataset;
+
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Rows in COPY ... (FORMAT csv) text, streamed to PostgreSQL in one COPY.
+ * An unquoted empty field is NULL; money is written from cents so no
+ * BigDecimal is created per line.
+ */
+final class CsvBuffer {
+
+    private final StringBuilder text;
+    private boolean rowStart = true;
+
+    CsvBuffer(int initialCapacity) {
+        this.text = new StringBuilder(initialCapacity);
+    }
+
+    CsvBuffer field(long value) {
+        separator();
+        text.append(value);
+        return this;
+    }
+
+    CsvBuffer field(boolean value) {
+        separator();
+        text.append(value ? 't' : 'f');
+        return this;
+    }
+
+    CsvBuffer field(String value) {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (value.isEmpty() || value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            text.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            text.append(value);
+        }
+        return this;
+    }
+
+    CsvBuffer cents(long cents) {
+        separator();
+        text.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction);
+        return this;
+    }
+
+    /**
+     * "yyyy-MM-dd " prefix plus seconds of the day; appends "+00" for timestamptz columns.
+     */
+    CsvBuffer timestamp(String datePrefix, int secondOfDay, boolean utcOffset) {
+        separator();
+        text.append(datePrefix);
+        twoDigits(secondOfDay / 3600).append(':');
+        twoDigits(secondOfDay / 60 % 60).append(':');
+        twoDigits(secondOfDay % 60);
+        if (utcOffset) {
+            text.append("+00");
+        }
+        return this;
+    }
+
+    void endRow() {
+        text.append('\n');
+        rowStart = true;
+    }
+
+    boolean isEmpty() {
+        return text.length() == 0;
+    }
+
+    /**
+     * Sends the buffered rows with {@code COPY <target> FROM STDIN (FORMAT csv)} and clears the buffer.
+     */
+    long copyInto(Connection connection, String target) throws SQLException, IOException {
+        if (isEmpty()) {
+            return 0;
+        }
+        long rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + target + " FROM STDIN (FORMAT csv)", new StringReader(text.toString()));
+        text.setLength(0);
+        return rows;
+    }
+
+    private void separator() {
+        if (!rowStart) {
+            text.append(',');
+        }
+        rowStart = false;
+    }
+
+    private StringBuilder twoDigits(int value) {
+        if (value < 10) {
+            text.append('0');
+        }
+        return text.append(value);
+    }
+}
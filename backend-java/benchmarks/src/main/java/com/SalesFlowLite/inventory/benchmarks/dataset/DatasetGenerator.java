@@ -0,0 +1,459 @@
+package com.SalesFlowLite.inventory.benchmarks.dataset;
+
+import com.SalesFlowLite.inventory.benchmarks.dataset.Distributions.Weighted;
+import com.SalesFlowLite.inventory.benchmarks.dataset.Distributions.Zipf;
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills products, inventory_items, users, refresh_tokens, sales and sale_items
+ * with production-like volume for performance work.
+ *
+ * • SKU popularity is Zipf-distributed over a seeded shuffle of the catalog
+ * • Daily volume follows a weekly profile × yearly cycle, hours follow opening-time peaks
+ * • Basket sizes come from a configurable value:weight table
+ *
+ * Every day draws from its own random streams keyed by (seed, date), and sale
+ * and line ids are fixed up front from a cheap sizing pass, so the same options
+ * produce identical rows whatever the thread count. Days are loaded in
+ * parallel with COPY, one connection and one transaction per day per loader.
+ *
+ *   java -cp target/benchmarks.jar com.SalesFlowLite.inventory.benchmarks.dataset.DatasetGenerator \
+ *        url=jdbc:postgresql://localhost:5432/salesflow user=salesflow password=... \
+ *        days=730 sales-per-day=8000 truncate=true
+ */
+public final class DatasetGenerator {
+
+    static final String PASSWORD = "dataset-password";
+
+    // Random stream purposes per day
+    private static final int SIZES = 1;
+    private static final int TIMES = 2;
+    private static final int PICKS = 3;
+
+    // Opening hours 07:00–20:59 with a lunch and an after-work peak
+    private static final Weighted HOURS = Weighted.of(
+            new int[]{7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20},
+            new double[]{3, 5, 6, 7, 8, 10, 9, 7, 6, 7, 9, 10, 8, 5});
+    private static final Weighted QUANTITY = Weighted.of(
+            new int[]{1, 2, 3, 4, 5, 6},
+            new double[]{70, 18, 7, 2.5, 1.5, 1});
+    private static final String[] CATEGORIES = {
+            "Groceries", "Beverages", "Household", "Personal Care", "Dairy", "Bakery"};
+
+    // Generated cashiers, told apart from real accounts by this phone prefix
+    private static final String PHONE_PREFIX = "05";
+
+    private final DatasetOptions options;
+    private final DataSource dataSource;
+    private final LocalDate firstDay;
+    private final Weighted basket;
+
+    // Catalog, indexed by product id - 1
+    private String[] skus;
+    private String[] names;
+    private long[] priceCents;
+    private int[] productByRank;
+    private Zipf popularity;
+
+    private DatasetGenerator(DatasetOptions options, DataSource dataSource) {
+        this.options = options;
+        this.dataSource = dataSource;
+        this.firstDay = options.end().minusDays(options.days());
+        this.basket = Weighted.parse(options.basket());
+    }
+
+    public static void main(String[] args) {
+        int exitCode = 0;
+        try {
+            run(DatasetOptions.parse(args));
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    static void run(DatasetOptions options) throws Exception {
+        if (options.url() != null) {
+            new DatasetGenerator(options, dataSource(options.url(), options.user(), options.password())).generate();
+            return;
+        }
+        log("No url given – loading into a throwaway embedded PostgreSQL");
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            new DatasetGenerator(options, dataSource(postgres.getJdbcUrl("postgres", "postgres"), "postgres", "postgres"))
+                    .generate();
+        }
+    }
+
+    private static DataSource dataSource(String url, String user, String password) {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser(user);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
+    private void generate() throws Exception {
+        long started = System.nanoTime();
+        if (options.migrate()) {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        }
+        prepare();
+
+        long catalog = loadCatalog();
+        long[] accounts = loadUsers();
+        List<String> deferred = options.deferIndexes() ? dropHistoryIndexes() : List.of();
+        long[] history = loadHistory();
+        recreateIndexes(deferred);
+        finish();
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long total = catalog * 2 + accounts[0] + accounts[1] + history[0] + history[1];
+        log("Done in %.1fs: %d products + inventory items, %d users, %d refresh tokens, %d sales, %d sale items (%.0f rows/s)",
+                seconds, catalog, accounts[0], accounts[1], history[0], history[1], total / seconds);
+        log("Generated users log in as %s########, password '%s'", PHONE_PREFIX, PASSWORD);
+    }
+
+    // =========================================================
+    // SCHEMA
+    // =========================================================
+    private void prepare() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement()) {
+            if (options.truncate()) {
+                // CASCADE also empties tables pointing at products (ledger counters); users stay except generated ones
+                st.execute("TRUNCATE sale_items, sales, inventory_items, products RESTART IDENTITY CASCADE");
+                st.execute("DELETE FROM users WHERE phone_number LIKE '" + PHONE_PREFIX + "%'");
+                return;
+            }
+            try (ResultSet rs = st.executeQuery("SELECT (SELECT count(*) FROM products) + (SELECT count(*) FROM sales) "
+                    + "+ (SELECT count(*) FROM inventory_items) "
+                    + "+ (SELECT count(*) FROM users WHERE phone_number LIKE '" + PHONE_PREFIX + "%')")) {
+                rs.next();
+                if (rs.getLong(1) > 0) {
+                    throw new IllegalStateException("Target already has products, sales or generated users – "
+                            + "pass truncate=true to replace them");
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the secondary indexes of sales and sale_items (primary keys and
+     * unique constraints stay) and returns their definitions. Building an
+     * index once after the load is several times cheaper than updating it
+     * per COPY row.
+     */
+    private List<String> dropHistoryIndexes() throws SQLException {
+        List<String> definitions = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT indexname, indexdef FROM pg_indexes i "
+                    + "WHERE schemaname = current_schema() AND tablename IN ('sales', 'sale_items') "
+                    + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)")) {
+                while (rs.next()) {
+                    definitions.add(rs.getString(2));
+                    // Printed so an interrupted run can be repaired by hand
+                    log("Deferring %s", rs.getString(2));
+                }
+            }
+            for (String definition : definitions) {
+                st.execute("DROP INDEX IF EXISTS " + indexName(definition));
+            }
+        }
+        return definitions;
+    }
+
+    private void recreateIndexes(List<String> definitions) throws Exception {
+        if (definitions.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        ExecutorService builders = Executors.newFixedThreadPool(Math.min(options.threads(), definitions.size()));
+        try {
+            List<Future<?>> builds = new ArrayList<>();
+            for (String definition : definitions) {
+                builds.add(builders.submit(() -> {
+                    try (Connection connection = dataSource.getConnection();
+                         Statement st = connection.createStatement()) {
+                        st.execute("SET maintenance_work_mem = '256MB'");
+                        st.execute(definition);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> build : builds) {
+                build.get();
+            }
+        } finally {
+            builders.shutdownNow();
+        }
+        log("Rebuilt %d indexes in %.1fs", definitions.size(), (System.nanoTime() - started) / 1e9);
+    }
+
+    // "CREATE INDEX name ON public.sales USING ..." → name
+    private static String indexName(String definition) {
+        String afterIndex = definition.substring(definition.indexOf("INDEX ") + "INDEX ".length());
+        return afterIndex.substring(0, afterIndex.indexOf(' '));
+    }
+
+    private void finish() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement st = connection.createStatement()) {
+            // Rows were loaded with explicit ids; move the sequences past them
+            for (String table : List.of("products", "inventory_items", "users", "sales", "sale_items")) {
+                st.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)");
+            }
+            st.execute("ANALYZE products, inventory_items, users, refresh_tokens, sales, sale_items");
+        }
+    }
+
+    // =========================================================
+    // CATALOG + ACCOUNTS
+    // =========================================================
+    private long loadCatalog() throws Exception {
+        int n = options.products();
+        List<Product> products = Fixtures.products(n, options.seed());
+        skus = new String[n];
+        names = new String[n];
+        priceCents = new long[n];
+
+        SplittableRandom random = Distributions.stream(options.seed(), 0, 0);
+        CsvBuffer productRows = new CsvBuffer(n * 128);
+        CsvBuffer inventoryRows = new CsvBuffer(n * 128);
+        String created = firstDay + " ";
+        for (int i = 0; i < n; i++) {
+            Product p = products.get(i);
+            skus[i] = p.getSku();
+            names[i] = p.getName();
+            priceCents[i] = p.getPrice().movePointRight(2).longValueExact();
+            int stock = 50 + random.nextInt(2_000);
+
+            productRows.field(i + 1L).field(p.getSku()).field(p.getName()).field(p.getDescription())
+                    .field(p.getImageUrl()).cents(priceCents[i]).field(stock).field(p.getLowStockThreshold())
+                    .field(options.end().toEpochDay() * 86_400_000L);
+            productRows.endRow();
+
+            inventoryRows.field(i + 1L).field(p.getSku()).field(p.getName()).field(p.getDescription())
+                    .field(CATEGORIES[random.nextInt(CATEGORIES.length)]).cents(priceCents[i])
+                    .cents(priceCents[i] * (60 + random.nextInt(26)) / 100).field(stock)
+                    .timestamp(created, 8 * 3600, true).timestamp(created, 8 * 3600, true);
+            inventoryRows.endRow();
+        }
+
+        // Popularity rank → product: shuffled so the bestsellers are spread over the id range
+        productByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            productByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = productByRank[i];
+            productByRank[i] = productByRank[j];
+            productByRank[j] = swap;
+        }
+        popularity = new Zipf(n, options.zipf());
+
+        try (Connection connection = dataSource.getConnection()) {
+            productRows.copyInto(connection, "products (id, sku, name, description, image_url, price, "
+                    + "stock_quantity, low_stock_threshold, last_updated)");
+            inventoryRows.copyInto(connection, "inventory_items (id, sku, name, description, category, price, "
+                    + "cost, quantity, created_at, updated_at)");
+        }
+        log("Catalog: %d products", n);
+        return n;
+    }
+
+    private long[] loadUsers() throws Exception {
+        // One hash for everyone: BCrypt at cost 10 is ~50 ms a call
+        String hash = new BCryptPasswordEncoder().encode(PASSWORD);
+        SplittableRandom random = Distributions.stream(options.seed(), 0, 1);
+        CsvBuffer userRows = new CsvBuffer(options.users() * 160);
+        CsvBuffer tokenRows = new CsvBuffer(options.users() * options.tokensPerUser() * 160);
+        long tokens = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            long firstId;
+            try (Statement st = connection.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM users")) {
+                rs.next();
+                firstId = rs.getLong(1);
+            }
+
+            for (int i = 0; i < options.users(); i++) {
+                long id = firstId + i;
+                String joined = firstDay.minusDays(random.nextInt(365)) + " ";
+                userRows.field(id).field("cashier" + i).field("cashier" + i + "@dataset.example")
+                        .field(hash).field(String.format("%s%08d", PHONE_PREFIX, i))
+                        .field(random.nextInt(10) == 0 ? "ADMIN" : "USER")
+                        .timestamp(joined, 9 * 3600, true).timestamp(joined, 9 * 3600, true).field(0);
+                userRows.endRow();
+
+                for (int t = 0; t < options.tokensPerUser(); t++) {
+                    // Issued over the last 45 days with a 30-day lifetime: about a third have expired
+                    LocalDate issued = options.end().minusDays(1 + random.nextInt(45));
+                    int second = random.nextInt(86_400);
+                    tokenRows.field(new UUID(random.nextLong(), random.nextLong()).toString())
+                            .field(String.format("%016x%016x%016x%016x",
+                                    random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()))
+                            .field(id)
+                            .timestamp(issued + " ", second, true)
+                            .timestamp(issued.plusDays(30) + " ", second, true)
+                            .field(random.nextInt(100) < 15)
+                            .field("android-" + (1 + random.nextInt(5)));
+                    tokenRows.endRow();
+                    tokens++;
+                }
+            }
+
+            userRows.copyInto(connection, "users (id, username, email, password, phone_number, role, "
+                    + "created_at, updated_at, security_version)");
+            tokenRows.copyInto(connection, "refresh_tokens (id, token_hash, user_id, issued_at, expires_at, revoked, device)");
+        }
+        log("Accounts: %d users, %d refresh tokens", options.users(), tokens);
+        return new long[]{options.users(), tokens};
+    }
+
+    // =========================================================
+    // SALES HISTORY
+    // =========================================================
+    private long[] loadHistory() throws Exception {
+        int days = options.days();
+
+        // Sizing pass: same SIZES stream as the load, so ids can be handed out before any thread starts
+        long[] firstSaleId = new long[days + 1];
+        long[] firstLineId = new long[days + 1];
+        firstSaleId[0] = 1;
+        firstLineId[0] = 1;
+        for (int d = 0; d < days; d++) {
+            int[] baskets = baskets(firstDay.plusDays(d));
+            firstSaleId[d + 1] = firstSaleId[d] + baskets.length;
+            firstLineId[d + 1] = firstLineId[d] + Arrays.stream(baskets).sum();
+        }
+        long sales = firstSaleId[days] - 1;
+        long lines = firstLineId[days] - 1;
+        log("History: %d days from %s, %d sales, %d lines, %d loaders", days, firstDay, sales, lines, options.threads());
+
+        AtomicInteger nextDay = new AtomicInteger();
+        AtomicLong loadedLines = new AtomicLong();
+        ExecutorService loaders = Executors.newFixedThreadPool(options.threads());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < options.threads(); t++) {
+                workers.add(loaders.submit(() -> {
+                    try (Connection connection = dataSource.getConnection()) {
+                        connection.setAutoCommit(false);
+                        try (Statement st = connection.createStatement()) {
+                            // Bulk load: losing the last commits on a crash only means rerunning
+                            st.execute("SET synchronous_commit = off");
+                        }
+                        CsvBuffer saleRows = new CsvBuffer(1 << 20);
+                        CsvBuffer lineRows = new CsvBuffer(4 << 20);
+                        for (int d = nextDay.getAndIncrement(); d < days; d = nextDay.getAndIncrement()) {
+                            loadedLines.addAndGet(loadDay(connection, d, firstSaleId[d], firstLineId[d], saleRows, lineRows));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long started = System.nanoTime();
+            for (Future<?> worker : workers) {
+                while (true) {
+                    try {
+                        worker.get(10, TimeUnit.SECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        double seconds = (System.nanoTime() - started) / 1e9;
+                        log("  %d/%d lines (%.0f lines/s)", loadedLines.get(), lines, loadedLines.get() / seconds);
+                    }
+                }
+            }
+        } finally {
+            loaders.shutdownNow();
+        }
+        return new long[]{sales, lines};
+    }
+
+    private int[] baskets(LocalDate day) {
+        SplittableRandom random = Distributions.stream(options.seed(), day.toEpochDay(), SIZES);
+        double expected = options.salesPerDay()
+                * Distributions.season(day, options.weekly(), options.annualAmplitude(), options.peakDay());
+        int[] baskets = new int[Distributions.count(random, expected)];
+        for (int i = 0; i < baskets.length; i++) {
+            baskets[i] = basket.sample(random);
+        }
+        return baskets;
+    }
+
+    private long loadDay(Connection connection, int dayIndex, long saleId, long lineId,
+                         CsvBuffer saleRows, CsvBuffer lineRows) throws Exception {
+        LocalDate day = firstDay.plusDays(dayIndex);
+        int[] baskets = baskets(day);
+
+        // Sales ids ascend with time of day, like a real till
+        SplittableRandom times = Distributions.stream(options.seed(), day.toEpochDay(), TIMES);
+        int[] seconds = new int[baskets.length];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = HOURS.sample(times) * 3600 + times.nextInt(3600);
+        }
+        Arrays.sort(seconds);
+
+        SplittableRandom picks = Distributions.stream(options.seed(), day.toEpochDay(), PICKS);
+        String date = day + " ";
+        long dayStartMs = day.toEpochDay() * 86_400_000L;
+        long lines = 0;
+        for (int i = 0; i < baskets.length; i++) {
+            long totalCents = 0;
+            for (int l = 0; l < baskets[i]; l++) {
+                int product = productByRank[popularity.sample(picks)];
+                int quantity = QUANTITY.sample(picks);
+                long subtotal = priceCents[product] * quantity;
+                lineRows.field(lineId++).field(saleId).field(product + 1L).field(skus[product]).field(names[product])
+                        .field(quantity).cents(priceCents[product]).cents(subtotal);
+                lineRows.endRow();
+                totalCents += subtotal;
+                lines++;
+            }
+            saleRows.field(saleId++).timestamp(date, seconds[i], false).cents(totalCents)
+                    .field(dayStartMs + seconds[i] * 1000L);
+            saleRows.endRow();
+        }
+
+        saleRows.copyInto(connection, "sales (id, sale_date, total_amount, last_updated)");
+        lineRows.copyInto(connection, "sale_items (id, sale_id, product_id, product_sku, product_name, "
+                + "quantity, unit_price, subtotal)");
+        connection.commit();
+        return lines;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[dataset] " + format + "%n", args);
+    }
+}
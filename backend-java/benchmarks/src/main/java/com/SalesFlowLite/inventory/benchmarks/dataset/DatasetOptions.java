@@ -0,0 +1,112 @@
+package com.SalesFlowLite.inventory.benchmarks.dataset;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as key=value pairs.
+ *
+ *   url=<jdbc url>          target database (default: a throwaway embedded PostgreSQL,
+ *                           useful for timing the generator itself)
+ *   user=postgres
+ *   password=
+ *   migrate=true            run the Flyway migrations first
+ *   truncate=false          empty the generated tables first; without it the load
+ *                           refuses to run against a database that already has sales
+ *   products=20000          catalog size (one inventory item per product)
+ *   users=500               cashier accounts
+ *   tokens-per-user=3       refresh tokens per user
+ *   days=365                history length, ending the day before end
+ *   end=<today>             first day NOT generated (yyyy-MM-dd)
+ *   sales-per-day=5000      mean daily sales before seasonality
+ *   zipf=1.1                SKU popularity exponent (0 = uniform)
+ *   weekly=0.85,0.9,0.95,1,1.15,1.4,0.75
+ *                           Monday..Sunday volume multipliers (normalised to mean 1)
+ *   annual-amplitude=0.3    ± swing of the yearly cycle
+ *   peak-day=350            day of year at the top of the cycle
+ *   basket=1:35,2:24,3:15,4:10,5:6,6:4,8:3,12:2,20:1
+ *                           lines per sale : weight
+ *   threads=<cores>         parallel loaders, one connection each
+ *   defer-indexes=true      drop the secondary indexes of sales/sale_items during
+ *                           the load and rebuild them afterwards
+ *   seed=42
+ */
+record DatasetOptions(
+        String url,
+        String user,
+        String password,
+        boolean migrate,
+        boolean truncate,
+        int products,
+        int users,
+        int tokensPerUser,
+        int days,
+        LocalDate end,
+        int salesPerDay,
+        double zipf,
+        double[] weekly,
+        double annualAmplitude,
+        int peakDay,
+        String basket,
+        int threads,
+        boolean deferIndexes,
+        long seed
+) {
+
+    private static final Set<String> KEYS = Set.of(
+            "url", "user", "password", "migrate", "truncate", "products", "users", "tokens-per-user",
+            "days", "end", "sales-per-day", "zipf", "weekly", "annual-amplitude", "peak-day", "basket",
+            "threads", "defer-indexes", "seed");
+
+    static DatasetOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (eq < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected one of " + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+        return new DatasetOptions(
+                values.get("url"),
+                values.getOrDefault("user", "postgres"),
+                values.getOrDefault("password", ""),
+                Boolean.parseBoolean(values.getOrDefault("migrate", "true")),
+                Boolean.parseBoolean(values.getOrDefault("truncate", "false")),
+                Integer.parseInt(values.getOrDefault("products", "20000")),
+                Integer.parseInt(values.getOrDefault("users", "500")),
+                Integer.parseInt(values.getOrDefault("tokens-per-user", "3")),
+                Integer.parseInt(values.getOrDefault("days", "365")),
+                values.containsKey("end") ? LocalDate.parse(values.get("end")) : LocalDate.now(),
+                Integer.parseInt(values.getOrDefault("sales-per-day", "5000")),
+                Double.parseDouble(values.getOrDefault("zipf", "1.1")),
+                weekly(values.getOrDefault("weekly", "0.85,0.9,0.95,1,1.15,1.4,0.75")),
+                Double.parseDouble(values.getOrDefault("annual-amplitude", "0.3")),
+                Integer.parseInt(values.getOrDefault("peak-day", "350")),
+                values.getOrDefault("basket", "1:35,2:24,3:15,4:10,5:6,6:4,8:3,12:2,20:1"),
+                Integer.parseInt(values.getOrDefault("threads",
+                        String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Boolean.parseBoolean(values.getOrDefault("defer-indexes", "true")),
+                Long.parseLong(values.getOrDefault("seed", "42")));
+    }
+
+    private static double[] weekly(String spec) {
+        String[] parts = spec.split(",");
+        if (parts.length != 7) {
+            throw new IllegalArgumentException("weekly needs 7 multipliers (Monday..Sunday), got '" + spec + "'");
+        }
+        double[] factors = new double[7];
+        double sum = 0;
+        for (int i = 0; i < 7; i++) {
+            factors[i] = Double.parseDouble(parts[i].trim());
+            sum += factors[i];
+        }
+        for (int i = 0; i < 7; i++) {
+            factors[i] = factors[i] * 7 / sum;
+        }
+        return factors;
+    }
+}
@@ -0,0 +1,143 @@
+package com.SalesFlowLite.inventory.benchmarks.dataset;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samplers used by the dataset generator. All take the caller's
+ * SplittableRandom, so a stream seeded per day yields the same draws no
+ * matter which loader thread runs the day.
+ */
+final class Distributions {
+
+    private Distributions() {
+    }
+
+    /**
+     * Independent stream for (key, purpose): key is usually the epoch day,
+     * purpose separates e.g. basket sizes from product picks.
+     */
+    static SplittableRandom stream(long seed, long key, int purpose) {
+        long z = seed * 0x9E3779B97F4A7C15L + key * 0xBF58476D1CE4E5B9L + purpose;
+        // SplitMix64 finaliser: neighbouring days get unrelated streams
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+
+    /**
+     * Expected volume multiplier for a day: weekly profile × yearly cosine
+     * peaking on peakDay.
+     */
+    static double season(LocalDate day, double[] weekly, double amplitude, int peakDay) {
+        double yearly = 1 + amplitude * Math.cos(2 * Math.PI * (day.getDayOfYear() - peakDay) / 365.25);
+        return weekly[day.getDayOfWeek().getValue() - 1] * yearly;
+    }
+
+    /**
+     * Poisson-like count around mean; normal approximation, exact enough
+     * for the daily volumes this generates.
+     */
+    static int count(SplittableRandom random, double mean) {
+        return (int) Math.max(0, Math.round(mean + Math.sqrt(mean) * random.nextGaussian()));
+    }
+
+    // =========================================================
+    // ZIPF
+    // =========================================================
+
+    /**
+     * Ranks 0..n-1 with P(rank k) ∝ 1/(k+1)^s. Cumulative table of n doubles
+     * and a binary search per draw – 8 MB and ~20 comparisons for a
+     * million-product catalog.
+     */
+    static final class Zipf {
+
+        private final double[] cdf;
+
+        Zipf(int n, double exponent) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cdf[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cdf[k] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+    }
+
+    // =========================================================
+    // WEIGHTED CHOICE
+    // =========================================================
+
+    /**
+     * Discrete values with weights, written "value:weight,value:weight",
+     * e.g. basket=1:35,2:24,3:15.
+     */
+    static final class Weighted {
+
+        private final int[] values;
+        private final double[] cdf;
+
+        private Weighted(int[] values, double[] weights) {
+            this.values = values;
+            this.cdf = new double[weights.length];
+            double sum = 0;
+            for (double w : weights) {
+                sum += w;
+            }
+            double running = 0;
+            for (int i = 0; i < weights.length; i++) {
+                running += weights[i];
+                cdf[i] = running / sum;
+            }
+        }
+
+        static Weighted parse(String spec) {
+            String[] parts = spec.split(",");
+            int[] values = new int[parts.length];
+            double[] weights = new double[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                String[] pair = parts[i].trim().split(":");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected value:weight, got '" + parts[i] + "'");
+                }
+                values[i] = Integer.parseInt(pair[0]);
+                weights[i] = Double.parseDouble(pair[1]);
+            }
+            return new Weighted(values, weights);
+        }
+
+        static Weighted of(int[] values, double[] weights) {
+            return new Weighted(values.clone(), weights.clone());
+        }
+
+        int sample(SplittableRandom random) {
+            double u = random.nextDouble();
+            for (int i = 0; i < cdf.length; i++) {
+                if (u < cdf[i]) {
+                    return values[i];
+                }
+            }
+            return values[values.length - 1];
+        }
+
+        double mean() {
+            double mean = 0;
+            double previous = 0;
+            for (int i = 0; i < values.length; i++) {
+                mean += values[i] * (cdf[i] - previous);
+                previous = cdf[i];
+            }
+            return mean;
+        }
+    }
+}
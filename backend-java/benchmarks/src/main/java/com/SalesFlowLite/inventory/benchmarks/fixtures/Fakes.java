@@ -0,0 +1,54 @@
+package com.SalesFlowLite.inventory.benchmarks.fixtures;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for repositories and services, built as JDK dynamic
+ * proxies so the benchmarks call the real service code without Spring,
+ * Hibernate or a database.
+ *
+ * Only the stubbed methods answer; anything else throws, so a benchmark can
+ * never silently measure a null path.
+ *
+ *   SaleRepository repo = Fakes.of(SaleRepository.class)
+ *           .on("findAll", args -> sales)
+ *           .build();
+ */
+public final class Fakes<T> {
+
+    private final Class<T> type;
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+    private Fakes(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> Fakes<T> of(Class<T> type) {
+        return new Fakes<>(type);
+    }
+
+    public Fakes<T> on(String method, Function<Object[], Object> answer) {
+        answers.put(method, answer);
+        return this;
+    }
+
+    public T build() {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "Fake<" + type.getSimpleName() + ">";
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(
+                        type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            };
+        });
+        return type.cast(proxy);
+    }
+}
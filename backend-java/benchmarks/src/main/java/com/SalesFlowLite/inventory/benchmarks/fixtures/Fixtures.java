@@ -0,0 +1,159 @@
+package com.SalesFlowLite.inventory.benchmarks.fixtures;
+
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.model.entity.Sale;
+import com.SalesFlowLite.inventory.model.entity.SaleItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded generators for catalog and sales data shaped like a small shop.
+ *
+ * • Prices are log-normal around ~3,000 (TZS), rounded to 50, scale 2
+ * • Product popularity is skewed: a few SKUs appear in most baskets
+ * • Basket sizes are geometric (mostly 1–3 lines, occasionally a dozen)
+ * • Sale times fall inside opening hours (07:00–21:00)
+ *
+ * The same seed always yields the same data, so runs on two commits
+ * measure the same workload.
+ */
+public final class Fixtures {
+
+    public static final long DEFAULT_SEED = 42L;
+
+    private static final String[] NOUNS = {
+            "Rice", "Sugar", "Cooking Oil", "Maize Flour", "Soap", "Tea Leaves",
+            "Milk", "Bread", "Salt", "Beans", "Matches", "Toothpaste", "Soda", "Water"
+    };
+    private static final String[] SIZES = {"250g", "500g", "1kg", "2kg", "5kg", "500ml", "1L", "5L"};
+
+    private Fixtures() {
+    }
+
+    // =========================================================
+    // CATALOG
+    // =========================================================
+    public static List<Product> products(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i + 1L;
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            String size = SIZES[random.nextInt(SIZES.length)];
+            // products.name is UNIQUE, so the line number keeps names distinct
+            products.add(Product.builder()
+                    .id(id)
+                    .sku(String.format("SKU-%06d", id))
+                    .name(noun + " " + size + " #" + id)
+                    .description(noun + " " + size + " – shelf " + (1 + random.nextInt(40)))
+                    .imageUrl(random.nextInt(4) == 0 ? null : "https://cdn.example.com/p/" + id + ".jpg")
+                    .price(price(random))
+                    .stockQuantity(random.nextInt(500))
+                    .lowStockThreshold(10)
+                    .lastUpdated(1_700_000_000_000L + id * 1_000L)
+                    .build());
+        }
+        return products;
+    }
+
+    // =========================================================
+    // SALES
+    // =========================================================
+    public static List<Sale> sales(List<Product> catalog, int count, int maxBasket, int days, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        List<Sale> sales = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime saleDate = firstDay.plusDays(random.nextInt(Math.max(days, 1)))
+                    .atTime(7 + random.nextInt(14), random.nextInt(60), random.nextInt(60));
+            Sale sale = Sale.builder()
+                    .id(i + 1L)
+                    .saleDate(saleDate)
+                    .lastUpdated(1_700_000_000_000L + i)
+                    .build();
+
+            int lines = basketSize(random, maxBasket);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int l = 0; l < lines; l++) {
+                Product product = catalog.get(popularIndex(random, catalog.size()));
+                SaleItem item = line(sale, product, 1 + random.nextInt(5), i * 16L + l);
+                sale.getItems().add(item);
+                total = total.add(item.getSubtotal());
+            }
+            sale.setTotalAmount(total);
+            sales.add(sale);
+        }
+        return sales;
+    }
+
+    /**
+     * Lines of one product over the last {@code days} days, {@code perDay} lines
+     * a day on average – what findSaleItemsByProductAndDate returns.
+     */
+    public static List<SaleItem> productHistory(Product product, int days, int perDay, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.now();
+        List<SaleItem> items = new ArrayList<>(days * perDay);
+        long id = 1;
+        for (int d = days - 1; d >= 0; d--) {
+            int lines = random.nextInt(perDay * 2 + 1);
+            for (int l = 0; l < lines; l++) {
+                Sale sale = Sale.builder()
+                        .id(id)
+                        .saleDate(today.minusDays(d).atTime(7 + random.nextInt(14), random.nextInt(60)))
+                        .build();
+                items.add(line(sale, product, 1 + random.nextInt(5), id++));
+            }
+        }
+        return items;
+    }
+
+    private static SaleItem line(Sale sale, Product product, int quantity, long id) {
+        return SaleItem.builder()
+                .id(id)
+                .sale(sale)
+                .product(product)
+                .productSku(product.getSku())
+                .productName(product.getName())
+                .quantity(quantity)
+                .unitPrice(product.getPrice())
+                .subtotal(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+
+    // =========================================================
+    // DISTRIBUTIONS
+    // =========================================================
+    private static BigDecimal price(SplittableRandom random) {
+        // exp(N(8, 1)) ≈ median 3,000, long tail towards 50,000+
+        double raw = Math.exp(8 + gaussian(random));
+        long rounded = Math.max(50, Math.round(raw / 50) * 50);
+        return BigDecimal.valueOf(rounded).setScale(2);
+    }
+
+    private static int basketSize(SplittableRandom random, int max) {
+        int size = 1;
+        while (size < max && random.nextDouble() < 0.55) {
+            size++;
+        }
+        return size;
+    }
+
+    public static int popularIndex(SplittableRandom random, int size) {
+        // Squaring a uniform pushes picks towards the head of the catalog
+        double u = random.nextDouble();
+        return (int) (u * u * size);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box–Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
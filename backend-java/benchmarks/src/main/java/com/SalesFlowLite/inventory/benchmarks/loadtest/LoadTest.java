@@ -0,0 +1,162 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import com.SalesFlowLite.inventory.InventoryApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * End-to-end load test: embedded PostgreSQL → real Flyway migrations → the
+ * backend on a random port → seeded data → concurrent scripted users.
+ *
+ * Prints throughput, p50/p99/p999 and errors per scenario, checks them against
+ * the thresholds file and exits 0 (pass), 1 (threshold breached) or 2 (setup
+ * failure), so CI can gate on it.
+ *
+ * App and load generator share one JVM and machine: compare runs on the same
+ * hardware, not absolute numbers across machines.
+ *
+ *   java -cp target/benchmarks.jar com.SalesFlowLite.inventory.benchmarks.loadtest.LoadTest users=32 duration=120
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try {
+            exitCode = run(LoadTestOptions.parse(args));
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    static int run(LoadTestOptions options) throws Exception {
+        Thresholds thresholds = Thresholds.load(options.thresholds());
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(InventoryApplication.class)
+                     .profiles("loadtest")
+                     .properties(Map.of(
+                             "spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"),
+                             "spring.datasource.username", "postgres",
+                             "spring.datasource.password", "postgres",
+                             // The "replica" is the same instance – it splits the pools, not the server
+                             "app.datasource.replica.enabled", String.valueOf(options.replica()),
+                             "app.datasource.replica.url", postgres.getJdbcUrl("postgres", "postgres")))
+                     .run()) {
+
+            log("Seeding %d users, %d products, %d historical sales", options.users(), options.products(), options.historySales());
+            new LoadTestSeeder(app.getBean(JdbcTemplate.class), app.getBean(PasswordEncoder.class), options).seed();
+
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+            for (Scenario scenario : Scenario.values()) {
+                stats.put(scenario, new ScenarioStats());
+            }
+
+            double seconds = drive(options, URI.create("http://127.0.0.1:" + port), stats);
+            return report(options, thresholds, stats, seconds);
+        }
+    }
+
+    // =========================================================
+    // LOAD
+    // =========================================================
+    private static double drive(LoadTestOptions options, URI baseUri, Map<Scenario, ScenarioStats> stats)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        ExecutorService users = Executors.newFixedThreadPool(options.users());
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (int i = 0; i < options.users(); i++) {
+            users.submit(new VirtualUser(i, baseUri, http, options, stats, running::get));
+        }
+
+        log("Warming up for %ds", options.warmupSeconds());
+        TimeUnit.SECONDS.sleep(options.warmupSeconds());
+        stats.values().forEach(ScenarioStats::reset);
+
+        log("Measuring for %ds with %d users", options.durationSeconds(), options.users());
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(options.durationSeconds());
+        running.set(false);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        users.shutdown();
+        if (!users.awaitTermination(60, TimeUnit.SECONDS)) {
+            users.shutdownNow();
+        }
+        return seconds;
+    }
+
+    // =========================================================
+    // REPORT
+    // =========================================================
+    private static int report(LoadTestOptions options, Thresholds thresholds,
+                              Map<Scenario, ScenarioStats> stats, double seconds) throws IOException {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf(Locale.ROOT, "# users=%d duration=%ds warmup=%ds products=%d history-sales=%d think-ms=%d seed=%d replica=%b%n",
+                options.users(), options.durationSeconds(), options.warmupSeconds(), options.products(),
+                options.historySales(), options.thinkTimeMs(), options.seed(), options.replica());
+        out.printf(Locale.ROOT, "%-12s %9s %9s %9s %9s %9s %8s %8s  %s%n",
+                "scenario", "ok", "rps", "p50 ms", "p99 ms", "p999 ms", "shed", "errors", "error statuses");
+
+        List<String> breaches = new ArrayList<>();
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            ScenarioStats s = entry.getValue();
+            out.printf(Locale.ROOT, "%-12s %9d %9.1f %9.2f %9.2f %9.2f %8d %8d  %s%n",
+                    entry.getKey().key, s.successes(), s.successes() / seconds,
+                    s.percentileMs(50), s.percentileMs(99), s.percentileMs(99.9),
+                    s.shedCount(), s.errors(), s.errorsByStatus().isEmpty() ? "-" : s.errorsByStatus());
+            breaches.addAll(thresholds.check(entry.getKey(), s, seconds));
+        }
+
+        out.println();
+        if (breaches.isEmpty()) {
+            out.println("PASS");
+        } else {
+            out.println("FAIL");
+            breaches.forEach(breach -> out.println("  " + breach));
+        }
+        out.flush();
+
+        System.out.print(text);
+        if (options.report() != null) {
+            Files.writeString(Path.of(options.report()), text.toString());
+        }
+        return breaches.isEmpty() ? 0 : 1;
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf(Locale.ROOT, "[loadtest] " + format + "%n", args);
+    }
+}
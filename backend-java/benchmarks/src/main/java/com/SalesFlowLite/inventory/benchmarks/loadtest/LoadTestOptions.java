@@ -0,0 +1,59 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options, given as key=value pairs.
+ *
+ *   users=16            concurrent virtual users (cashier devices)
+ *   duration=60         measured seconds
+ *   warmup=15           seconds run before measuring (JIT, pools, caches)
+ *   products=1000       seeded catalog size
+ *   history-sales=20000 seeded historical sales (last 90 days)
+ *   think-ms=0          mean think time between requests of one user
+ *   seed=42             seed for catalog, history and user scripts
+ *   replica=false       route read-only transactions to a second pool on the same instance
+ *   thresholds=<file>   pass/fail limits (default: bundled loadtest-thresholds.properties)
+ *   report=<file>       also write the report to this file
+ */
+record LoadTestOptions(
+        int users,
+        int durationSeconds,
+        int warmupSeconds,
+        int products,
+        int historySales,
+        long thinkTimeMs,
+        long seed,
+        boolean replica,
+        String thresholds,
+        String report
+) {
+
+    private static final Set<String> KEYS = Set.of(
+            "users", "duration", "warmup", "products", "history-sales", "think-ms", "seed", "replica", "thresholds", "report");
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (eq < 0 || !KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown option '" + arg + "', expected one of " + KEYS);
+            }
+            values.put(key, arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "16")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "15")),
+                Integer.parseInt(values.getOrDefault("products", "1000")),
+                Integer.parseInt(values.getOrDefault("history-sales", "20000")),
+                Long.parseLong(values.getOrDefault("think-ms", "0")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(values.getOrDefault("replica", "false")),
+                values.get("thresholds"),
+                values.get("report"));
+    }
+}
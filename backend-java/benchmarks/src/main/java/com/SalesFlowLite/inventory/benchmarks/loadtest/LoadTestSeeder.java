@@ -0,0 +1,99 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the freshly migrated database: one ADMIN cashier per virtual user,
+ * the Fixtures catalog and a 90-day sales history.
+ *
+ * The catalog comes from Fixtures (same seed → same rows as the JMH fixtures).
+ * History is generated in SQL with setseed() on a single connection, which
+ * keeps it reproducible and takes seconds instead of minutes for 20k+ sales.
+ */
+final class LoadTestSeeder {
+
+    static final String CASHIER_PASSWORD = "loadtest-password";
+
+    // Every seeded product starts with enough stock that checkouts never run dry
+    private static final int SEED_STOCK = 1_000_000;
+
+    private final JdbcTemplate jdbc;
+    private final PasswordEncoder passwordEncoder;
+    private final LoadTestOptions options;
+
+    LoadTestSeeder(JdbcTemplate jdbc, PasswordEncoder passwordEncoder, LoadTestOptions options) {
+        this.jdbc = jdbc;
+        this.passwordEncoder = passwordEncoder;
+        this.options = options;
+    }
+
+    static String cashierPhone(int index) {
+        return String.format("07%08d", index);
+    }
+
+    void seed() {
+        seedCashiers();
+        seedCatalog();
+        seedHistory();
+        jdbc.execute("ANALYZE");
+    }
+
+    private void seedCashiers() {
+        // One hash for all: seeding should not spend minutes in BCrypt
+        String hash = passwordEncoder.encode(CASHIER_PASSWORD);
+        List<Object[]> rows = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            rows.add(new Object[]{cashierPhone(i), "cashier" + i, hash});
+        }
+        // Sales and history endpoints are ADMIN-only
+        jdbc.batchUpdate("INSERT INTO users (phone_number, username, password, role) VALUES (?, ?, ?, 'ADMIN')", rows);
+    }
+
+    private void seedCatalog() {
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>(options.products());
+        for (Product p : Fixtures.products(options.products(), options.seed())) {
+            rows.add(new Object[]{p.getSku(), p.getName(), p.getDescription(), p.getImageUrl(),
+                    p.getPrice(), SEED_STOCK, p.getLowStockThreshold(), now});
+        }
+        // Fresh BIGSERIAL: ids come out as 1..n in insert order, matching the SKU numbers
+        jdbc.batchUpdate("INSERT INTO products (sku, name, description, image_url, price, stock_quantity, "
+                + "low_stock_threshold, last_updated) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void seedHistory() {
+        double seed = (options.seed() % 1000) / 1000.0;
+        jdbc.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement st = connection.createStatement()) {
+                st.execute("SELECT setseed(" + seed + ")");
+                st.execute("INSERT INTO sales (sale_date, total_amount, last_updated) "
+                        + "SELECT d, 0, (EXTRACT(EPOCH FROM d) * 1000)::bigint "
+                        + "FROM (SELECT date_trunc('day', now()) - (floor(random() * 90) || ' days')::interval "
+                        + "             + make_interval(hours => 7 + floor(random() * 14)::int, "
+                        + "                             mins => floor(random() * 60)::int) AS d "
+                        + "      FROM generate_series(1, " + options.historySales() + ")) g "
+                        + "ORDER BY d");
+                // 1–3 lines per sale; squaring random() skews picks towards popular SKUs
+                st.execute("INSERT INTO sale_items (sale_id, product_id, product_sku, product_name, quantity, unit_price, subtotal) "
+                        + "SELECT s.id, p.id, p.sku, p.name, q.qty, p.price, p.price * q.qty "
+                        + "FROM sales s "
+                        + "CROSS JOIN LATERAL generate_series(1, 1 + floor(random() * 3)::int + 0 * s.id) l "
+                        + "CROSS JOIN LATERAL (SELECT 1 + floor(power(random(), 2) * " + options.products() + ")::bigint + 0 * l AS pid, "
+                        + "                           1 + floor(random() * 5)::int AS qty) q "
+                        + "JOIN products p ON p.id = q.pid");
+                st.execute("UPDATE sales s SET total_amount = t.total "
+                        + "FROM (SELECT sale_id, SUM(subtotal) AS total FROM sale_items GROUP BY sale_id) t "
+                        + "WHERE t.sale_id = s.id");
+            }
+            return null;
+        });
+    }
+}
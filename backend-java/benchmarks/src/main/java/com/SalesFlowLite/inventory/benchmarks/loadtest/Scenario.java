@@ -0,0 +1,38 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+/**
+ * Scripted requests a virtual user picks from, by weight (out of 100).
+ *
+ *   login        POST /api/v1/auth/login          – BCrypt on the hashing pool
+ *   catalog      GET  /api/v1/sync/download       – device catalog poll from its cursor
+ *   checkout     POST /api/v1/sales/single        – 1–3 lines, row locks on products
+ *   sync-upload  POST /api/v1/sync/upload         – 1–5 offline sales through the ledger
+ *   history      GET  /api/v1/sales/history/by-sku – 30-day per-product history
+ */
+enum Scenario {
+
+    LOGIN("login", 5),
+    CATALOG("catalog", 40),
+    CHECKOUT("checkout", 35),
+    SYNC_UPLOAD("sync-upload", 10),
+    HISTORY("history", 10);
+
+    final String key;
+    final int weight;
+
+    Scenario(String key, int weight) {
+        this.key = key;
+        this.weight = weight;
+    }
+
+    static Scenario pick(int roll) {
+        int cumulative = 0;
+        for (Scenario scenario : values()) {
+            cumulative += scenario.weight;
+            if (roll < cumulative) {
+                return scenario;
+            }
+        }
+        return CATALOG;
+    }
+}
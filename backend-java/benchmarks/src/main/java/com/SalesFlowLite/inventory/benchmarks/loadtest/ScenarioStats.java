@@ -0,0 +1,81 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram (µs, 3 significant digits) and error counts for one scenario.
+ *
+ * Only successful (2xx) responses go into the histogram; failures are counted
+ * by status ("IOException" for transport errors) so a fast 500 cannot make
+ * the percentiles look better. 503 SERVICE_BUSY from the concurrency limiter
+ * is load shedding, not a failure: it is counted on its own and left out of
+ * the error rate.
+ */
+final class ScenarioStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    private final LongAdder shed = new LongAdder();
+
+    void success(long elapsedNanos) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), MAX_TRACKABLE_MICROS));
+    }
+
+    void failure(String status) {
+        errors.increment();
+        errorsByStatus.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void shed() {
+        shed.increment();
+    }
+
+    void reset() {
+        latency.reset();
+        errors.reset();
+        errorsByStatus.clear();
+        shed.reset();
+    }
+
+    long successes() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double errorRate() {
+        long total = successes() + errors();
+        return total == 0 ? 0 : (double) errors() / total;
+    }
+
+    long shedCount() {
+        return shed.sum();
+    }
+
+    double shedRate() {
+        long total = successes() + errors() + shedCount();
+        return total == 0 ? 0 : (double) shedCount() / total;
+    }
+
+    double percentileMs(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    Map<String, Long> errorsByStatus() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        errorsByStatus.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+}
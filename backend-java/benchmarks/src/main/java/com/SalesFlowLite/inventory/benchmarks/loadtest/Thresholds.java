@@ -0,0 +1,75 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Pass/fail limits from loadtest-thresholds.properties (see that file for the keys).
+ */
+final class Thresholds {
+
+    private static final String BUNDLED = "/loadtest-thresholds.properties";
+
+    private final Properties limits;
+
+    private Thresholds(Properties limits) {
+        this.limits = limits;
+    }
+
+    static Thresholds load(String file) {
+        Properties limits = new Properties();
+        try (InputStream in = file != null
+                ? Files.newInputStream(Path.of(file))
+                : Thresholds.class.getResourceAsStream(BUNDLED)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + BUNDLED + " on the classpath");
+            }
+            limits.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read thresholds " + file, e);
+        }
+        return new Thresholds(limits);
+    }
+
+    /**
+     * @return one line per breached limit; empty when the run passes
+     */
+    List<String> check(Scenario scenario, ScenarioStats stats, double seconds) {
+        List<String> breaches = new ArrayList<>();
+        if (stats.successes() == 0) {
+            // Empty histogram reads as 0 ms and no errors: never a pass
+            breaches.add(scenario.key + " no successful requests");
+        }
+        max(breaches, scenario, "p50-ms", stats.percentileMs(50));
+        max(breaches, scenario, "p99-ms", stats.percentileMs(99));
+        max(breaches, scenario, "p999-ms", stats.percentileMs(99.9));
+        max(breaches, scenario, "max-error-rate", stats.errorRate());
+        max(breaches, scenario, "max-shed-rate", stats.shedRate());
+
+        Double minRps = limit(scenario, "min-rps");
+        double rps = stats.successes() / seconds;
+        if (minRps != null && rps < minRps) {
+            breaches.add(String.format(Locale.ROOT, "%s min-rps: %.1f < %.1f", scenario.key, rps, minRps));
+        }
+        return breaches;
+    }
+
+    private void max(List<String> breaches, Scenario scenario, String metric, double actual) {
+        Double limit = limit(scenario, metric);
+        if (limit != null && actual > limit) {
+            breaches.add(String.format(Locale.ROOT, "%s %s: %.3f > %.3f", scenario.key, metric, actual, limit));
+        }
+    }
+
+    private Double limit(Scenario scenario, String metric) {
+        String value = limits.getProperty(scenario.key + "." + metric, limits.getProperty("default." + metric));
+        return value == null ? null : Double.valueOf(value.trim());
+    }
+}
@@ -0,0 +1,178 @@
+package com.SalesFlowLite.inventory.benchmarks.loadtest;
+
+import com.SalesFlowLite.inventory.benchmarks.fixtures.Fixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One cashier device: logs in, then loops over weighted scenarios until stopped.
+ *
+ * Closed model – the next request starts when the previous one finished (plus
+ * think time), like a real till. Latency is measured from send until the full
+ * body is read; parsing the body afterwards is not timed.
+ */
+final class VirtualUser implements Runnable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final int index;
+    private final URI baseUri;
+    private final HttpClient http;
+    private final LoadTestOptions options;
+    private final Map<Scenario, ScenarioStats> stats;
+    private final BooleanSupplier running;
+    private final SplittableRandom random;
+    private final String deviceId;
+
+    private String accessToken;
+    private Long catalogCursor;
+
+    VirtualUser(int index, URI baseUri, HttpClient http, LoadTestOptions options,
+                Map<Scenario, ScenarioStats> stats, BooleanSupplier running) {
+        this.index = index;
+        this.baseUri = baseUri;
+        this.http = http;
+        this.options = options;
+        this.stats = stats;
+        this.running = running;
+        this.random = new SplittableRandom(options.seed() + index);
+        this.deviceId = "loadtest-device-" + index;
+    }
+
+    @Override
+    public void run() {
+        execute(Scenario.LOGIN);
+        while (running.getAsBoolean()) {
+            execute(Scenario.pick(random.nextInt(100)));
+            if (options.thinkTimeMs() > 0) {
+                LockSupport.parkNanos(Duration.ofMillis(random.nextLong(options.thinkTimeMs() * 2 + 1)).toNanos());
+            }
+        }
+    }
+
+    private void execute(Scenario scenario) {
+        if (accessToken == null && scenario != Scenario.LOGIN) {
+            scenario = Scenario.LOGIN;
+        }
+        HttpRequest request = request(scenario);
+        ScenarioStats scenarioStats = stats.get(scenario);
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            scenarioStats.failure(e.getClass().getSimpleName());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (response.statusCode() == 503 && response.body().contains("\"SERVICE_BUSY\"")) {
+            scenarioStats.shed();
+            return;
+        }
+        if (response.statusCode() / 100 != 2) {
+            scenarioStats.failure(String.valueOf(response.statusCode()));
+            if (response.statusCode() == 401) {
+                accessToken = null;
+            }
+            return;
+        }
+        scenarioStats.success(elapsed);
+        afterResponse(scenario, response.body());
+    }
+
+    // =========================================================
+    // REQUESTS
+    // =========================================================
+    private HttpRequest request(Scenario scenario) {
+        return switch (scenario) {
+            case LOGIN -> post("/api/v1/auth/login",
+                    "{\"phoneNumber\":\"" + LoadTestSeeder.cashierPhone(index) + "\","
+                            + "\"password\":\"" + LoadTestSeeder.CASHIER_PASSWORD + "\"}");
+            case CATALOG -> get("/api/v1/sync/download?deviceId=" + deviceId
+                    + (catalogCursor != null ? "&lastSyncTimestamp=" + catalogCursor : ""));
+            case CHECKOUT -> post("/api/v1/sales/single", "{\"items\":" + basket() + "}");
+            case SYNC_UPLOAD -> post("/api/v1/sync/upload", syncBody());
+            case HISTORY -> get("/api/v1/sales/history/by-sku/" + sku() + "?days=30");
+        };
+    }
+
+    private String syncBody() {
+        StringBuilder body = new StringBuilder("{\"deviceId\":\"").append(deviceId)
+                .append("\",\"offlineTimestamp\":").append(System.currentTimeMillis())
+                .append(",\"offlineSales\":[");
+        int sales = 1 + random.nextInt(5);
+        for (int i = 0; i < sales; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"clientSaleId\":\"").append(UUID.randomUUID())
+                    .append("\",\"items\":").append(basket()).append('}');
+        }
+        return body.append("]}").toString();
+    }
+
+    private String basket() {
+        StringBuilder items = new StringBuilder("[");
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            items.append(i == 0 ? "" : ",")
+                    .append("{\"sku\":\"").append(sku())
+                    .append("\",\"quantity\":").append(1 + random.nextInt(3)).append('}');
+        }
+        return items.append(']').toString();
+    }
+
+    private String sku() {
+        return String.format("SKU-%06d", 1 + Fixtures.popularIndex(random, options.products()));
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(HttpRequest.newBuilder(baseUri.resolve(path))).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return authorized(HttpRequest.newBuilder(baseUri.resolve(path)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        builder.timeout(TIMEOUT);
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    // =========================================================
+    // RESPONSES
+    // =========================================================
+    private void afterResponse(Scenario scenario, String body) {
+        try {
+            if (scenario == Scenario.LOGIN) {
+                accessToken = JSON.readTree(body).path("accessToken").asText(null);
+            } else if (scenario == Scenario.CATALOG) {
+                JsonNode cursor = JSON.readTree(body).path("newSyncTimestamp");
+                catalogCursor = cursor.isNumber() ? cursor.asLong() : catalogCursor;
+            }
+        } catch (IOException e) {
+            stats.get(scenario).failure("bad-body");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.SalesFlowLite.inventory.benchmarks.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns JMH JSON results into a stable, line-per-result text report that can be
+ * committed next to the JSON and compared with plain diff.
+ *
+ *   report  <result.json>              – one sorted line per benchmark/params/metric
+ *   compare <base.json> <head.json>    – base vs head with relative change
+ *
+ * Lines are keyed by "Class.method [params] metric" and sorted, so reordering
+ * or adding benchmarks never shuffles unrelated lines. Only the primary score
+ * and gc.alloc.rate.norm (with -prof gc) are kept; rates that depend on machine
+ * load are dropped.
+ */
+public final class DiffableReport {
+
+    private static final String PACKAGE_PREFIX = "com.SalesFlowLite.inventory.benchmarks.";
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private DiffableReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 2 && args[0].equals("report")) {
+            report(read(Path.of(args[1])), System.out);
+        } else if (args.length == 3 && args[0].equals("compare")) {
+            compare(read(Path.of(args[1])), read(Path.of(args[2])), System.out);
+        } else {
+            System.err.println("usage: DiffableReport report <result.json>");
+            System.err.println("       DiffableReport compare <base.json> <head.json>");
+            System.exit(2);
+        }
+    }
+
+    record Score(double value, double error, String unit) {
+    }
+
+    record Results(String environment, Map<String, Score> scores) {
+    }
+
+    // =========================================================
+    // READ
+    // =========================================================
+    static Results read(Path file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(Files.readAllBytes(file));
+        Map<String, Score> scores = new TreeMap<>();
+        String environment = "";
+        for (JsonNode run : root) {
+            environment = "JMH " + run.path("jmhVersion").asText()
+                    + ", JDK " + run.path("jdkVersion").asText()
+                    + " (" + run.path("vmName").asText() + ")";
+
+            String key = run.path("benchmark").asText().replace(PACKAGE_PREFIX, "")
+                    + params(run.path("params"))
+                    + " " + run.path("mode").asText();
+            scores.put(key, score(run.path("primaryMetric")));
+
+            JsonNode alloc = run.path("secondaryMetrics").path("·" + ALLOC_METRIC);
+            if (alloc.isMissingNode()) {
+                alloc = run.path("secondaryMetrics").path(ALLOC_METRIC);
+            }
+            if (!alloc.isMissingNode()) {
+                scores.put(key + " " + ALLOC_METRIC, score(alloc));
+            }
+        }
+        return new Results(environment, scores);
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        // TreeMap: JMH writes params in declaration order, sort them for stability
+        Map<String, String> sorted = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            sorted.put(field.getKey(), field.getValue().asText());
+        }
+        List<String> parts = new ArrayList<>();
+        sorted.forEach((name, value) -> parts.add(name + "=" + value));
+        return " [" + String.join(",", parts) + "]";
+    }
+
+    private static Score score(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(Double.NaN);
+        return new Score(metric.path("score").asDouble(), error, metric.path("scoreUnit").asText());
+    }
+
+    // =========================================================
+    // WRITE
+    // =========================================================
+    static void report(Results results, PrintStream out) {
+        out.println("# " + results.environment());
+        int width = keyWidth(results.scores().keySet());
+        results.scores().forEach((key, score) -> out.println(String.format(Locale.ROOT,
+                "%-" + width + "s  %14s +- %-12s %s",
+                key, format(score.value()), format(score.error()), score.unit())));
+    }
+
+    static void compare(Results base, Results head, PrintStream out) {
+        out.println("# base: " + base.environment());
+        out.println("# head: " + head.environment());
+        Map<String, Score[]> merged = new TreeMap<>();
+        base.scores().forEach((key, score) -> merged.computeIfAbsent(key, k -> new Score[2])[0] = score);
+        head.scores().forEach((key, score) -> merged.computeIfAbsent(key, k -> new Score[2])[1] = score);
+
+        int width = keyWidth(merged.keySet());
+        merged.forEach((key, pair) -> out.println(String.format(Locale.ROOT,
+                "%-" + width + "s  %14s  %14s  %9s  %s",
+                key,
+                pair[0] != null ? format(pair[0].value()) : "-",
+                pair[1] != null ? format(pair[1].value()) : "-",
+                change(pair[0], pair[1]),
+                pair[1] != null ? pair[1].unit() : pair[0].unit())));
+    }
+
+    private static String change(Score base, Score head) {
+        if (base == null || head == null || base.value() == 0) {
+            return "n/a";
+        }
+        double pct = (head.value() - base.value()) / base.value() * 100;
+        // Within the combined error bars the difference is noise
+        boolean significant = Double.isNaN(base.error()) || Double.isNaN(head.error())
+                || Math.abs(head.value() - base.value()) > base.error() + head.error();
+        return String.format(Locale.ROOT, "%+.1f%%%s", pct, significant ? "" : "~");
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "NaN" : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static int keyWidth(Iterable<String> keys) {
+        int width = 0;
+        for (String key : keys) {
+            width = Math.max(width, key.length());
+        }
+        return width;
+    }
+}
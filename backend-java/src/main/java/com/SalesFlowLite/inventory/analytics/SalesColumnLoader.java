@@ -0,0 +1,172 @@
+package com.SalesFlowLite.inventory.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps {@link SalesColumnStore} in step with sale_items, by id.
+ *
+ * Every refresh reads the lines above the highest id loaded so far, in
+ * batches. Ids are taken at insert, so a checkout can commit id 41 after 42
+ * was loaded: skipped ids are remembered as holes and looked up again on each
+ * refresh until they show up or are older than settle-ms (then they were
+ * rolled back). Sales are never updated or deleted, so appending is enough.
+ * At most max-holes ids are tracked; gaps beyond that are counted in
+ * salesflow.analytics.column_store.dropped_holes, and a line committed into
+ * one is missing from the store until a restart.
+ *
+ * The first refreshes catch up with history, max-lines-per-refresh at a time so
+ * the shared scheduler thread is not held for minutes; queries get 503 until
+ * a refresh finishes below that cap. Gaps in history are old rollbacks, so
+ * holes are only recorded once the store has caught up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.analytics.column-store.enabled", havingValue = "true", matchIfMissing = true)
+public class SalesColumnLoader {
+
+    private static final String LINE_COLUMNS =
+            "SELECT si.id, si.product_id, si.product_sku, si.product_name, s.sale_date, si.quantity, si.subtotal " +
+            "FROM sale_items si JOIN sales s ON s.id = si.sale_id ";
+    private static final String LINES_AFTER_SQL = LINE_COLUMNS + "WHERE si.id > ? ORDER BY si.id LIMIT ?";
+    private static final String LINES_BY_ID_SQL = LINE_COLUMNS + "WHERE si.id = ANY(?)";
+
+    private final SalesColumnStore store;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int maxLinesPerRefresh;
+    private final long settleNanos;
+    private final int maxHoles;
+    private final Counter droppedHoles;
+
+    // Guarded by this
+    private long maxLoadedId;
+    private final Map<Long, Long> holes = new HashMap<>();   // missing id → nanoTime first noticed
+
+    public SalesColumnLoader(SalesColumnStore store,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.analytics.column-store.batch-size:10000}") int batchSize,
+                             @Value("${app.analytics.column-store.max-lines-per-refresh:500000}") int maxLinesPerRefresh,
+                             @Value("${app.analytics.column-store.settle-ms:60000}") long settleMs,
+                             @Value("${app.analytics.column-store.max-holes:10000}") int maxHoles,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxLinesPerRefresh = maxLinesPerRefresh;
+        this.settleNanos = TimeUnit.MILLISECONDS.toNanos(settleMs);
+        this.maxHoles = maxHoles;
+        this.droppedHoles = Counter.builder("salesflow.analytics.column_store.dropped_holes")
+                .description("Skipped sale line ids not re-checked because max-holes was reached")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${app.analytics.column-store.initial-delay-ms:5000}",
+            fixedDelayString = "${app.analytics.column-store.refresh-interval-ms:2000}")
+    public synchronized void refresh() {
+        long started = System.nanoTime();
+        try {
+            int loaded = loadHoles(started);
+
+            int batchLoaded;
+            do {
+                batchLoaded = loadAfter(maxLoadedId, started);
+                loaded += batchLoaded;
+            } while (batchLoaded == batchSize && loaded < maxLinesPerRefresh);
+
+            boolean caughtUp = batchLoaded < batchSize;
+            store.publish(maxLoadedId, caughtUp || store.isReady());
+            if (loaded > 0) {
+                log.debug("Column store loaded {} sale lines in {} ms ({} holes pending)",
+                        loaded, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), holes.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Column store refresh failed, retrying next run: {}", e.getMessage());
+        }
+    }
+
+    private int loadAfter(long afterId, long now) {
+        LineLoader loader = new LineLoader(now);
+        jdbcTemplate.query(LINES_AFTER_SQL, loader, afterId, batchSize);
+        if (loader.dropped > 0) {
+            log.warn("Column store hole table is full ({}): {} skipped ids below {} will not be re-checked",
+                    maxHoles, loader.dropped, maxLoadedId);
+        }
+        return loader.rows;
+    }
+
+    private int loadHoles(long now) {
+        holes.values().removeIf(noticedAt -> now - noticedAt > settleNanos);
+        if (holes.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = holes.keySet().toArray(new Long[0]);
+        LineLoader loader = new LineLoader(now);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LINES_BY_ID_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        }, loader);
+        return loader.rows;
+    }
+
+    /**
+     * Appends each row and keeps the id bookkeeping: a row above the previous
+     * maximum records the gap before it, a row below it fills a hole.
+     */
+    private final class LineLoader implements RowCallbackHandler {
+
+        private final long now;
+        private final boolean trackHoles;
+        private int rows;
+        private long dropped;
+
+        private LineLoader(long now) {
+            this.now = now;
+            this.trackHoles = store.isReady();
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (id > maxLoadedId) {
+                if (trackHoles) {
+                    long missing = maxLoadedId + 1;
+                    for (; missing < id && holes.size() < maxHoles; missing++) {
+                        holes.put(missing, now);
+                    }
+                    if (missing < id) {
+                        droppedHoles.increment(id - missing);
+                        dropped += id - missing;
+                    }
+                }
+                maxLoadedId = id;
+            } else if (holes.remove(id) == null) {
+                return; // already loaded
+            }
+
+            LocalDateTime saleDate = rs.getObject(5, LocalDateTime.class);
+            long revenueCents = rs.getBigDecimal(7).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            store.append(rs.getLong(2), rs.getString(3), rs.getString(4),
+                    (int) saleDate.toLocalDate().toEpochDay(), rs.getInt(6), revenueCents);
+            rows++;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.SalesFlowLite.inventory.analytics;
+
+import com.SalesFlowLite.inventory.exception.BusinessException;
+import com.SalesFlowLite.inventory.exception.ErrorCode;
+import com.SalesFlowLite.inventory.exception.ServiceOverloadedException;
+import com.SalesFlowLite.inventory.model.dto.analytics.ColumnStoreStatus;
+import com.SalesFlowLite.inventory.model.dto.analytics.DailySalesTotal;
+import com.SalesFlowLite.inventory.model.dto.analytics.ProductSalesTotal;
+import com.SalesFlowLite.inventory.model.dto.analytics.SalesTotal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory columnar copy of sale_items for analytics. One row per sale line,
+ * four primitive columns:
+ *
+ *   product   int   dense product index (dictionary below)
+ *   day       int   epoch day of sales.sale_date
+ *   quantity  int
+ *   revenue   long  subtotal in cents
+ *
+ * 20 bytes per line → 20 MB per million lines, allocated 65,536 lines (1.3 MB)
+ * at a time, plus ~100 bytes per distinct product for the dictionary. Chunks
+ * mean growth never copies a column, and each chunk keeps its min/max day so
+ * a time window skips chunks it cannot match. Past max-lines the oldest chunk
+ * is dropped; from then on a query starting on or before the last day it held
+ * is refused rather than answered with part of that day's sales. The arrays stay on the heap: the
+ * GC never traces into primitive arrays, so off-heap would only add copying.
+ *
+ * {@link SalesColumnLoader} is the only writer. It appends past the published
+ * size and then publishes a new {@link Snapshot} through a volatile field;
+ * queries read one snapshot lock-free and never see a half-written line.
+ * Scans are split across the common ForkJoin pool.
+ */
+@Component
+@ConditionalOnProperty(name = "app.analytics.column-store.enabled", havingValue = "true", matchIfMissing = true)
+public class SalesColumnStore {
+
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int BYTES_PER_LINE = 4 + 4 + 4 + 8;
+    private static final int MAX_DAYS = 3_660;
+
+    private volatile Snapshot snapshot =
+            new Snapshot(new Chunk[0], 0, new long[0], new String[0], new String[0], 0, false, 0, null,
+                    0, Integer.MIN_VALUE);
+
+    private final long maxLines;
+
+    // Writer state – guarded by this; readers go through the snapshot
+    private Chunk[] chunks = new Chunk[0];
+    private long size;
+    private long[] productIds = new long[1024];
+    private String[] skus = new String[1024];
+    private String[] names = new String[1024];
+    private int productCount;
+    private long evictedLines;
+    private int evictedThroughDay = Integer.MIN_VALUE;   // last day any dropped line fell on
+
+    // Written by the loader only; readers may see an index newer than their snapshot, which matches no line
+    private final Map<Long, Integer> productIndex = new ConcurrentHashMap<>();
+
+    public SalesColumnStore(MeterRegistry meterRegistry,
+                            @Value("${app.analytics.column-store.max-lines:5000000}") long maxLines) {
+        this.maxLines = maxLines;
+        Gauge.builder("salesflow.analytics.column_store.lines", this, store -> store.snapshot.size)
+                .description("Sale lines held by the analytics column store")
+                .register(meterRegistry);
+        Gauge.builder("salesflow.analytics.column_store.bytes", this, store -> columnBytes(store.snapshot))
+                .description("Memory allocated to the column store's arrays")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // =========================================================
+    // WRITE (loader thread only)
+    // =========================================================
+    synchronized void append(long productId, String sku, String name, int day, int quantity, long revenueCents) {
+        int product = productIndex(productId, sku, name);
+
+        int chunkIndex = (int) (size >>> CHUNK_SHIFT);
+        if (chunkIndex == chunks.length) {
+            if (chunkIndex > 0 && (long) (chunkIndex + 1) * CHUNK_SIZE > maxLines) {
+                // Full: drop the oldest (lowest-id) chunk; published snapshots keep their own array
+                evictedThroughDay = Math.max(evictedThroughDay, chunks[0].maxDay);
+                evictedLines += CHUNK_SIZE;
+                chunks = Arrays.copyOfRange(chunks, 1, chunkIndex + 1);
+                size -= CHUNK_SIZE;
+                chunkIndex--;
+            } else {
+                chunks = Arrays.copyOf(chunks, chunks.length + 1);
+            }
+            chunks[chunkIndex] = new Chunk();
+        }
+        Chunk chunk = chunks[chunkIndex];
+        int i = (int) (size & (CHUNK_SIZE - 1));
+        chunk.product[i] = product;
+        chunk.day[i] = day;
+        chunk.quantity[i] = quantity;
+        chunk.revenueCents[i] = revenueCents;
+        chunk.minDay = Math.min(chunk.minDay, day);
+        chunk.maxDay = Math.max(chunk.maxDay, day);
+        size++;
+    }
+
+    /**
+     * Makes everything appended so far visible to queries.
+     */
+    synchronized void publish(long lastLineId, boolean ready) {
+        snapshot = new Snapshot(chunks, size, productIds, skus, names, productCount,
+                ready, lastLineId, LocalDateTime.now(), evictedLines, evictedThroughDay);
+    }
+
+    private int productIndex(long productId, String sku, String name) {
+        Integer existing = productIndex.get(productId);
+        if (existing != null) {
+            // Latest line wins, so renamed products show their current name
+            skus[existing] = sku;
+            names[existing] = name;
+            return existing;
+        }
+        if (productCount == productIds.length) {
+            productIds = Arrays.copyOf(productIds, productCount * 2);
+            skus = Arrays.copyOf(skus, productCount * 2);
+            names = Arrays.copyOf(names, productCount * 2);
+        }
+        int index = productCount++;
+        productIds[index] = productId;
+        skus[index] = sku;
+        names[index] = name;
+        productIndex.put(productId, index);
+        return index;
+    }
+
+    // =========================================================
+    // QUERIES
+    // =========================================================
+
+    /**
+     * Best-selling products by revenue over [from, to).
+     */
+    public List<ProductSalesTotal> topProducts(LocalDate from, LocalDate to, int limit) {
+        Snapshot s = readySnapshot();
+        int fromDay = fromDay(s, from, to);
+        int toDay = (int) to.toEpochDay();
+
+        long[] sums = scan(s, fromDay, toDay, 3 * s.products, (chunk, length, acc) -> {
+            int[] day = chunk.day;
+            int[] product = chunk.product;
+            for (int i = 0; i < length; i++) {
+                int d = day[i];
+                if (d >= fromDay && d < toDay) {
+                    int slot = product[i] * 3;
+                    acc[slot] += chunk.quantity[i];
+                    acc[slot + 1] += chunk.revenueCents[i];
+                    acc[slot + 2]++;
+                }
+            }
+        });
+
+        List<Integer> sold = new ArrayList<>();
+        for (int p = 0; p < s.products; p++) {
+            if (sums[p * 3 + 2] > 0) sold.add(p);
+        }
+        sold.sort(Comparator.comparingLong((Integer p) -> sums[p * 3 + 1]).reversed());
+
+        List<ProductSalesTotal> result = new ArrayList<>(Math.min(limit, sold.size()));
+        for (int p : sold.subList(0, Math.min(limit, sold.size()))) {
+            result.add(ProductSalesTotal.builder()
+                    .productId(s.productIds[p])
+                    .sku(s.skus[p])
+                    .productName(s.names[p])
+                    .quantity(sums[p * 3])
+                    .revenue(BigDecimal.valueOf(sums[p * 3 + 1], 2))
+                    .lines(sums[p * 3 + 2])
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * One entry per day in [from, to), zero days included; productId null = all products.
+     */
+    public List<DailySalesTotal> daily(LocalDate from, LocalDate to, Long productId) {
+        Snapshot s = readySnapshot();
+        int fromDay = fromDay(s, from, to);
+        int toDay = (int) to.toEpochDay();
+        int product = productFilter(productId);
+
+        long[] sums = scan(s, fromDay, toDay, 3 * (toDay - fromDay), (chunk, length, acc) -> {
+            int[] day = chunk.day;
+            for (int i = 0; i < length; i++) {
+                int d = day[i];
+                if (d >= fromDay && d < toDay && (product < 0 || chunk.product[i] == product)) {
+                    int slot = (d - fromDay) * 3;
+                    acc[slot] += chunk.quantity[i];
+                    acc[slot + 1] += chunk.revenueCents[i];
+                    acc[slot + 2]++;
+                }
+            }
+        });
+
+        List<DailySalesTotal> result = new ArrayList<>(toDay - fromDay);
+        for (int d = 0; d < toDay - fromDay; d++) {
+            result.add(DailySalesTotal.builder()
+                    .day(LocalDate.ofEpochDay(fromDay + d))
+                    .quantity(sums[d * 3])
+                    .revenue(BigDecimal.valueOf(sums[d * 3 + 1], 2))
+                    .lines(sums[d * 3 + 2])
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Sum over [from, to); productId null = all products.
+     */
+    public SalesTotal total(LocalDate from, LocalDate to, Long productId) {
+        Snapshot s = readySnapshot();
+        int fromDay = fromDay(s, from, to);
+        int toDay = (int) to.toEpochDay();
+        int product = productFilter(productId);
+
+        long[] sums = scan(s, fromDay, toDay, 3, (chunk, length, acc) -> {
+            int[] day = chunk.day;
+            long quantity = 0;
+            long revenue = 0;
+            long lines = 0;
+            for (int i = 0; i < length; i++) {
+                int d = day[i];
+                if (d >= fromDay && d < toDay && (product < 0 || chunk.product[i] == product)) {
+                    quantity += chunk.quantity[i];
+                    revenue += chunk.revenueCents[i];
+                    lines++;
+                }
+            }
+            acc[0] += quantity;
+            acc[1] += revenue;
+            acc[2] += lines;
+        });
+
+        return SalesTotal.builder()
+                .from(from)
+                .to(to)
+                .productId(productId)
+                .quantity(sums[0])
+                .revenue(BigDecimal.valueOf(sums[1], 2))
+                .lines(sums[2])
+                .build();
+    }
+
+    public ColumnStoreStatus status() {
+        Snapshot s = snapshot;
+        return ColumnStoreStatus.builder()
+                .ready(s.ready)
+                .lines(s.size)
+                .products(s.products)
+                .chunks(chunkCount(s))
+                .columnBytes(columnBytes(s))
+                .lastLoadedLineId(s.lastLineId)
+                .lastRefreshAt(s.refreshedAt)
+                .evictedLines(s.evictedLines)
+                .completeFrom(s.evictedLines > 0 ? LocalDate.ofEpochDay(s.evictedThroughDay + 1L) : null)
+                .build();
+    }
+
+    boolean isReady() {
+        return snapshot.ready;
+    }
+
+    // =========================================================
+    // SCAN
+    // =========================================================
+
+    /**
+     * Runs the scanner over every chunk that may hold a day in [fromDay, toDay)
+     * and sums the per-task accumulators. Tasks take every n-th chunk, so old
+     * and recent chunks are spread evenly across workers.
+     */
+    private static long[] scan(Snapshot s, int fromDay, int toDay, int width, ChunkScanner scanner) {
+        int chunkCount = chunkCount(s);
+        int tasks = Math.max(1, Math.min(chunkCount, ForkJoinPool.getCommonPoolParallelism() * 2));
+
+        return IntStream.range(0, tasks).parallel()
+                .mapToObj(task -> {
+                    long[] acc = new long[width];
+                    for (int c = task; c < chunkCount; c += tasks) {
+                        Chunk chunk = s.chunks[c];
+                        if (chunk.maxDay < fromDay || chunk.minDay >= toDay) continue;
+                        int length = (int) Math.min(CHUNK_SIZE, s.size - ((long) c << CHUNK_SHIFT));
+                        scanner.scan(chunk, length, acc);
+                    }
+                    return acc;
+                })
+                .reduce((a, b) -> {
+                    for (int i = 0; i < a.length; i++) a[i] += b[i];
+                    return a;
+                })
+                .orElseGet(() -> new long[width]);
+    }
+
+    private Snapshot readySnapshot() {
+        Snapshot s = snapshot;
+        if (!s.ready) {
+            throw new ServiceOverloadedException("Sales analytics are still loading, try again shortly", 5);
+        }
+        return s;
+    }
+
+    private static int fromDay(Snapshot s, LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "'from' must be before 'to'");
+        }
+        if (to.toEpochDay() - from.toEpochDay() > MAX_DAYS) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "At most %d days per query", MAX_DAYS);
+        }
+        if (from.toEpochDay() <= s.evictedThroughDay) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED,
+                    "Sales analytics only hold sales from %s on", LocalDate.ofEpochDay(s.evictedThroughDay + 1L));
+        }
+        return (int) from.toEpochDay();
+    }
+
+    private int productFilter(Long productId) {
+        if (productId == null) return -1;
+        // Unknown product: an index no line has, so the result is zeros rather than an error
+        return productIndex.getOrDefault(productId, Integer.MAX_VALUE);
+    }
+
+    private static int chunkCount(Snapshot s) {
+        return (int) ((s.size + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static long columnBytes(Snapshot s) {
+        return (long) s.chunks.length * CHUNK_SIZE * BYTES_PER_LINE;
+    }
+
+    @FunctionalInterface
+    private interface ChunkScanner {
+        void scan(Chunk chunk, int length, long[] acc);
+    }
+
+    private static final class Chunk {
+        final int[] product = new int[CHUNK_SIZE];
+        final int[] day = new int[CHUNK_SIZE];
+        final int[] quantity = new int[CHUNK_SIZE];
+        final long[] revenueCents = new long[CHUNK_SIZE];
+        // Only widened, so a racing reader sees at least the range of its published lines
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+    }
+
+    private record Snapshot(Chunk[] chunks, long size, long[] productIds, String[] skus, String[] names,
+                            int products, boolean ready, long lastLineId, LocalDateTime refreshedAt,
+                            long evictedLines, int evictedThroughDay) {
+    }
+}
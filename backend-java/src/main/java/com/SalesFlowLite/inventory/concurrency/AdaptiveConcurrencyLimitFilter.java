@@ -0,0 +1,134 @@
+package com.SalesFlowLite.inventory.concurrency;
+
+import com.SalesFlowLite.inventory.exception.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Adaptive concurrency limit per {@link RequestPriority}, so a slow database
+ * sheds analytics before it times out checkouts.
+ *
+ * Each class has its own {@link AdaptiveLimit}; a request over its class limit
+ * gets an immediate 503 SERVICE_BUSY with Retry-After instead of queueing for a
+ * Tomcat thread and a Hikari connection. Priority on top of that: while
+ * CRITICAL is congested BULK is cut to one request at a time and INTERACTIVE
+ * to half of its limit. CRITICAL is never shed for the other classes, and its
+ * min-limit keeps a short queue for a connection rather than failing checkouts.
+ *
+ * Registered without @Order, i.e. after the Spring Security chain: the
+ * PYTHON_SERVICE role is needed to classify, and unauthenticated requests are
+ * already turned away without taking a slot.
+ */
+@Component
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final double CONGESTED_INTERACTIVE_SHARE = 0.5;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<RequestPriority, AdaptiveLimit> limits = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> rejected = new EnumMap<>(RequestPriority.class);
+
+    public AdaptiveConcurrencyLimitFilter(ObjectMapper objectMapper,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${app.concurrency-limit.enabled:true}") boolean enabled,
+                                          @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+                                          @Value("${app.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds,
+                                          @Value("${app.concurrency-limit.critical.min-limit:20}") int criticalMin,
+                                          @Value("${app.concurrency-limit.critical.max-limit:200}") int criticalMax,
+                                          @Value("${app.concurrency-limit.interactive.min-limit:4}") int interactiveMin,
+                                          @Value("${app.concurrency-limit.interactive.max-limit:200}") int interactiveMax,
+                                          @Value("${app.concurrency-limit.bulk.min-limit:1}") int bulkMin,
+                                          @Value("${app.concurrency-limit.bulk.max-limit:8}") int bulkMax) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        limits.put(RequestPriority.CRITICAL, new AdaptiveLimit(criticalMin, criticalMax, tolerance));
+        limits.put(RequestPriority.INTERACTIVE, new AdaptiveLimit(interactiveMin, interactiveMax, tolerance));
+        limits.put(RequestPriority.BULK, new AdaptiveLimit(bulkMin, bulkMax, tolerance));
+
+        limits.forEach((priority, limit) -> {
+            Gauge.builder("salesflow.concurrency.limit", limit, AdaptiveLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", priority.tag)
+                    .register(meterRegistry);
+            Gauge.builder("salesflow.concurrency.in_flight", limit, AdaptiveLimit::inFlight)
+                    .description("Requests holding a concurrency slot")
+                    .tag("class", priority.tag)
+                    .register(meterRegistry);
+            rejected.put(priority, Counter.builder("salesflow.concurrency.rejected")
+                    .description("Requests shed with 503 by the concurrency limiter")
+                    .tag("class", priority.tag)
+                    .register(meterRegistry));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Actuator, WebSocket and docs stay reachable when the API is saturated
+        return !enabled || !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = RequestPriority.of(request);
+        AdaptiveLimit limit = limits.get(priority);
+
+        if (!limit.tryAcquire(share(priority))) {
+            rejected.get(priority).increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private double share(RequestPriority priority) {
+        if (priority == RequestPriority.CRITICAL || !limits.get(RequestPriority.CRITICAL).isCongested()) {
+            return 1.0;
+        }
+        return priority == RequestPriority.BULK ? 0.0 : CONGESTED_INTERACTIVE_SHARE;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ApiError error = ApiError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .code("SERVICE_BUSY")
+                .message("Server is busy, retry in " + retryAfterSeconds + "s")
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,127 @@
+package com.SalesFlowLite.inventory.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows latency, in the style of a gradient limiter:
+ *
+ *   gradient = clamp(tolerance × longRtt / shortRtt, 0.5, 1.0)
+ *   limit    = limit × gradient + √limit
+ *
+ * shortRtt tracks the last few dozen requests, longRtt the last few thousand.
+ * While latency stays within tolerance of its long-run level the limit grows by
+ * about √limit per sample; once requests queue (in Tomcat or for a Hikari
+ * connection) shortRtt rises and the limit shrinks in proportion. A failed
+ * request (5xx, exception) is a multiplicative decrease on top – the AIMD half.
+ *
+ * The limit only grows while at least half of it is in use, so a quiet night
+ * cannot inflate it to max before the morning rush.
+ */
+final class AdaptiveLimit {
+
+    private static final double SHORT_WEIGHT = 2.0 / (1 + 20);
+    private static final double LONG_WEIGHT = 2.0 / (1 + 2000);
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+    private static final long GRADIENT_TTL_NANOS = 1_000_000_000L;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private volatile double gradient = 1.0;
+    private volatile long lastSampleNanos;
+
+    // Guarded by this
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    AdaptiveLimit(int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Need 1 <= min-limit <= max-limit, got " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.min(maxLimit, minLimit * 2);
+    }
+
+    /**
+     * Takes a slot if fewer than fraction × limit requests (at least one) are
+     * in flight. Callers that get true must call {@link #release} exactly once.
+     */
+    boolean tryAcquire(double fraction) {
+        int cap = Math.max(1, (int) (limit * fraction));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= cap) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos, boolean dropped) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (dropped) {
+            onDropped();
+        } else {
+            onSample(rttNanos, inFlightAtCompletion);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_WEIGHT;
+        longRttNanos += (shortRttNanos - longRttNanos) * LONG_WEIGHT;
+
+        // After a long overload the baseline has crept up with it; let it fall back quickly
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        lastSampleNanos = System.nanoTime();
+        gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        if (gradient == 1.0 && inFlightAtCompletion < current / 2) {
+            return; // Healthy but under-used: nothing learned about the ceiling
+        }
+        double next = current * gradient + Math.sqrt(current);
+        limit = clamp(current * (1 - SMOOTHING) + next * SMOOTHING);
+    }
+
+    private synchronized void onDropped() {
+        limit = clamp(limit * DROP_BACKOFF);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * True while latency is above tolerance of its long-run level or the limit
+     * is nearly used up – the signal lower priority classes back off on. A
+     * gradient older than a second is ignored so an idle class cannot stay
+     * congested on its last sample.
+     */
+    boolean isCongested() {
+        boolean slow = gradient < 1.0 && System.nanoTime() - lastSampleNanos < GRADIENT_TTL_NANOS;
+        return slow || inFlight.get() >= limit * 0.8;
+    }
+}
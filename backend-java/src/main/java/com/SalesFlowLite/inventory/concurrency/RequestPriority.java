@@ -0,0 +1,50 @@
+package com.SalesFlowLite.inventory.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Endpoint classes for concurrency limiting, highest priority first.
+ */
+public enum RequestPriority {
+
+    /** Checkout and offline sync uploads – money and stock changes. */
+    CRITICAL,
+    /** Everything a cashier or admin screen waits on. */
+    INTERACTIVE,
+    /** Sales history exports and the analytics service; can retry later. */
+    BULK;
+
+    private static final Set<String> CRITICAL_WRITES = Set.of(
+            "/api/v1/sales",
+            "/api/v1/sales/single",
+            "/api/v1/sync/upload",
+            "/api/v1/sync/jobs"
+    );
+
+    final String tag = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Runs after the security chain, so the JWT role is already in the context.
+     */
+    static RequestPriority of(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if ("POST".equalsIgnoreCase(request.getMethod()) && CRITICAL_WRITES.contains(path)) {
+            return CRITICAL;
+        }
+        if (path.startsWith("/api/v1/sales/history") || isPythonService()) {
+            return BULK;
+        }
+        return INTERACTIVE;
+    }
+
+    private static boolean isPythonService() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_PYTHON_SERVICE".equals(authority.getAuthority()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.SalesFlowLite.inventory.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -21,4 +22,42 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Dedicated pool for async offline-sync jobs.
+     * Kept small and separate so a sync storm can never take more than
+     * maxPoolSize DB connections away from checkout. Full queue = rejection (503).
+     */
+    @Bean(name = "syncJobExecutor")
+    public ThreadPoolTaskExecutor syncJobExecutor(
+            @Value("${app.sync.jobs.pool-size:2}") int poolSize,
+            @Value("${app.sync.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("SalesFlow-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * BCrypt runs here instead of on Tomcat threads (see PasswordHashingService).
+     * pool-size caps the cores a login storm can take; a full queue means
+     * immediate rejection (503), never an unbounded backlog.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${app.security.password-hashing.pool-size:2}") int poolSize,
+            @Value("${app.security.password-hashing.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("SalesFlow-bcrypt-");
+        executor.initialize();
+        return executor;
+    }
 }
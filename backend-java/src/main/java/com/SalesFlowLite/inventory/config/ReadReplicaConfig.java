@@ -0,0 +1,91 @@
+package com.SalesFlowLite.inventory.config;
+
+import com.SalesFlowLite.inventory.datasource.ReadYourWritesFilter;
+import com.SalesFlowLite.inventory.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Two Hikari pools – primary (spring.datasource.*) and replica
+ * (app.datasource.replica.*) – behind one routing DataSource, so checkout
+ * keeps the primary pool while /products, /sales/history and the analytics
+ * reads run on the replica. See {@link ReplicaRoutingDataSource}.
+ *
+ * Off unless app.datasource.replica.enabled; then the beans below replace
+ * Spring Boot's single pooled DataSource. Flyway, JPA and JdbcTemplate use the
+ * @Primary "dataSource" bean; Flyway runs outside a transaction, so it always
+ * migrates the primary. The replica URL may point at the primary itself (e.g.
+ * in the load test) – that only separates the pools. The read-your-writes
+ * cookie filter is registered here too, since it only matters with a replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        // A write that slips through fails loudly, even when the "replica" is the primary
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${app.datasource.replica.sticky-primary-ms:3000}") long stickyPrimaryMs,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(
+                primary, replica, Duration.ofMillis(stickyPrimaryMs), meterRegistry);
+        // Defers the routing decision to the first statement, after the transaction
+        // manager has marked the transaction read-only
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    // Outside Spring Security, so writes made while authenticating (login, refresh) count too
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${app.datasource.replica.sticky-primary-ms:3000}") long stickyPrimaryMs) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(Duration.ofMillis(stickyPrimaryMs)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -4,9 +4,11 @@
 
 package com.SalesFlowLite.inventory.config;
 
+import com.SalesFlowLite.inventory.security.AuthRateLimitFilter;
 import com.SalesFlowLite.inventory.security.JwtAuthenticationFilter;
 import com.SalesFlowLite.inventory.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -21,6 +23,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -34,11 +38,22 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final CustomUserDetailsService customUserDetailsService;
 
+    // Raising this makes existing hashes get re-encoded on the next successful login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -67,6 +82,12 @@ public class SecurityConfig {
                                 "/auth/**",
                                 "/api/v1/auth/**",
 
+                                // WebSocket handshake authenticates the token itself
+                                "/ws/**",
+
+                                // Public JWT verification keys (JWKS)
+                                "/.well-known/jwks.json",
+
                                 "/actuator/health",
                                 "/actuator/info",
 
@@ -76,14 +97,25 @@ public class SecurityConfig {
                                 "/h2-console/**"
                         ).permitAll()
 
+                        // Scraped by Prometheus without a token on the internal management port only;
+                        // on the public port the metrics are admin-only like the other actuator data
+                        .requestMatchers(prometheusOnManagementPort()).permitAll()
+                        .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
+
+                        // Starts/downloads JFR recordings – heap and thread data, admins only
+                        .requestMatchers("/actuator/jfr/**").hasRole("ADMIN")
+
                         .requestMatchers("/api/v1/sales/history/**").hasAnyRole("ADMIN", "PYTHON_SERVICE")
                         .requestMatchers("/api/v1/sales/**").hasAnyRole("ADMIN", "PYTHON_SERVICE")
+                        .requestMatchers("/api/v1/analytics/**").hasAnyRole("ADMIN", "PYTHON_SERVICE")
 
                         .requestMatchers("/api/v1/sync/**").authenticated()
 
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
+                // Throttle auth endpoints first, before any body binding or BCrypt work
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
         // Allow H2 console frames
@@ -91,6 +123,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Matches only when actuator has its own port (management.server.port)
+    private RequestMatcher prometheusOnManagementPort() {
+        RequestMatcher path = new AntPathRequestMatcher("/actuator/prometheus");
+        return request -> managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort
+                && path.matches(request);
+    }
+
     @Bean(name = "corsConfigurationSource")
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
@@ -0,0 +1,31 @@
+package com.SalesFlowLite.inventory.config;
+
+import com.SalesFlowLite.inventory.monitoring.TimedJacksonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Swaps Boot's Jackson converter for the timed one when Server-Timing is on.
+ * Same ObjectMapper and media types, so responses are unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonHttpMessageConverter)) {
+                TimedJacksonHttpMessageConverter timed = new TimedJacksonHttpMessageConverter(jackson.getObjectMapper());
+                timed.setSupportedMediaTypes(jackson.getSupportedMediaTypes());
+                converters.set(i, timed);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.SalesFlowLite.inventory.config;
+
+import com.SalesFlowLite.inventory.websocket.CatalogWebSocketHandler;
+import com.SalesFlowLite.inventory.websocket.JwtHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final CatalogWebSocketHandler catalogWebSocketHandler;
+    private final JwtHandshakeInterceptor jwtHandshakeInterceptor;
+
+    // Browser origins allowed to connect; devices without an Origin header are not affected
+    @Value("${app.ws.allowed-origin-patterns:${app.frontend.origins:http://localhost:5173}}")
+    private String[] allowedOriginPatterns;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(catalogWebSocketHandler, "/ws/catalog")
+                .addInterceptors(jwtHandshakeInterceptor)
+                .setAllowedOriginPatterns(allowedOriginPatterns);
+    }
+}
@@ -0,0 +1,66 @@
+package com.SalesFlowLite.inventory.controller;
+
+import com.SalesFlowLite.inventory.analytics.SalesColumnStore;
+import com.SalesFlowLite.inventory.model.dto.analytics.ColumnStoreStatus;
+import com.SalesFlowLite.inventory.model.dto.analytics.DailySalesTotal;
+import com.SalesFlowLite.inventory.model.dto.analytics.ProductSalesTotal;
+import com.SalesFlowLite.inventory.model.dto.analytics.SalesTotal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregates served from the in-memory {@link SalesColumnStore}. Days are
+ * ISO dates, "to" is exclusive; data is at most one refresh interval behind.
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.analytics.column-store.enabled", havingValue = "true", matchIfMissing = true)
+@PreAuthorize("hasAnyRole('ADMIN','PYTHON_SERVICE')")
+public class AnalyticsController {
+
+    private final SalesColumnStore salesColumnStore;
+
+    // ============================ GROUP BY PRODUCT ============================
+    @GetMapping("/products/top")
+    public ResponseEntity<List<ProductSalesTotal>> topProducts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(salesColumnStore.topProducts(from, to, Math.max(1, Math.min(limit, 1000))));
+    }
+
+    // ============================ GROUP BY DAY ============================
+    @GetMapping("/daily")
+    public ResponseEntity<List<DailySalesTotal>> daily(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId) {
+        return ResponseEntity.ok(salesColumnStore.daily(from, to, productId));
+    }
+
+    // ============================ WINDOW TOTAL ============================
+    @GetMapping("/total")
+    public ResponseEntity<SalesTotal> total(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId) {
+        return ResponseEntity.ok(salesColumnStore.total(from, to, productId));
+    }
+
+    // ============================ STORE STATUS ============================
+    @GetMapping("/status")
+    public ResponseEntity<ColumnStoreStatus> status() {
+        return ResponseEntity.ok(salesColumnStore.status());
+    }
+}
@@ -1,5 +1,6 @@
 // src/main/java/com/SalesFlowLite/inventory/controller/AuthController.java
 package com.SalesFlowLite.inventory.controller;
+import com.SalesFlowLite.inventory.event.UserSecurityChangedEvent;
 import com.SalesFlowLite.inventory.model.entity.Role;
 import com.SalesFlowLite.inventory.model.dto.auth.*;
 import com.SalesFlowLite.inventory.model.entity.RefreshToken;
@@ -7,10 +8,15 @@ import com.SalesFlowLite.inventory.model.entity.User;
 import com.SalesFlowLite.inventory.security.JwtService;
 import com.SalesFlowLite.inventory.service.AuthService;
 import com.SalesFlowLite.inventory.service.RefreshTokenService;
+import com.SalesFlowLite.inventory.service.UserProfileCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -20,6 +26,8 @@ public class AuthController {
     private final AuthService authService;
     private final JwtService jwtService;
     private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserProfileCache userProfileCache;
 
     // ---------------------------------------------------------
     // LOGIN
@@ -27,17 +35,14 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         User user = authService.validateCredentials(request.getPhoneNumber(), request.getPassword());
+        publishSecurityVersion(user);
 
-        String accessToken = jwtService.generateAccessToken(
-                user.getPhoneNumber(),
-                user.getRole().name(),
-                user.getUsername()
-        );
-
-        String refreshToken = jwtService.generateRefreshToken(user);
-        String refreshExpiresAt = jwtService.getRefreshExpiresAt();
+        String accessToken = jwtService.generateAccessToken(user);
 
-        refreshTokenService.createOrReplaceRefreshToken(user, "web");
+        // The opaque token stored (hashed) server-side is the one the client gets back
+        RefreshToken storedRefresh = refreshTokenService.createOrReplaceRefreshToken(user, "web");
+        String refreshToken = storedRefresh.getRawToken();
+        String refreshExpiresAt = storedRefresh.getExpiresAt().toString();
 
         AuthResponse response = AuthResponse.builder()
                 .accessToken(accessToken)
@@ -73,16 +78,12 @@ public class AuthController {
 
         User savedUser = authService.saveUser(newUser);
 
-        String accessToken = jwtService.generateAccessToken(
-                savedUser.getPhoneNumber(),
-                savedUser.getRole().name(),
-                savedUser.getUsername()
-        );
-
-        String refreshToken = jwtService.generateRefreshToken(savedUser);
-        String refreshExpiresAt = jwtService.getRefreshExpiresAt();
+        String accessToken = jwtService.generateAccessToken(savedUser);
 
-        refreshTokenService.createOrReplaceRefreshToken(savedUser, "web");
+        // The opaque token stored (hashed) server-side is the one the client gets back
+        RefreshToken storedRefresh = refreshTokenService.createOrReplaceRefreshToken(savedUser, "web");
+        String refreshToken = storedRefresh.getRawToken();
+        String refreshExpiresAt = storedRefresh.getExpiresAt().toString();
 
         AuthResponse response = AuthResponse.builder()
                 .accessToken(accessToken)
@@ -126,15 +127,12 @@ public class AuthController {
         }
 
         User user = storedToken.getUser();
+        publishSecurityVersion(user);
         RefreshToken newStoredToken = refreshTokenService.rotateRefreshToken(storedToken);
 
-        String newAccess = jwtService.generateAccessToken(
-                user.getPhoneNumber(),
-                user.getRole().name(),
-                user.getUsername()
-        );
-        String newRefresh = jwtService.generateRefreshToken(user);
-        String refreshExpiresAt = jwtService.getRefreshExpiresAt();
+        String newAccess = jwtService.generateAccessToken(user);
+        String newRefresh = newStoredToken.getRawToken();
+        String refreshExpiresAt = newStoredToken.getExpiresAt().toString();
 
         AuthResponse resp = AuthResponse.builder()
                 .accessToken(newAccess)
@@ -161,21 +159,41 @@ public class AuthController {
     // ME (CURRENT USER)
     // ---------------------------------------------------------
     @GetMapping("/me")
-    public ResponseEntity<AuthMeResponse> me(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<AuthMeResponse> me(@RequestHeader("Authorization") String authHeader,
+                                             WebRequest webRequest) {
         String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
         if (token == null) {
             return ResponseEntity.status(401).build();
         }
 
-        String phone = jwtService.extractPhoneNumber(token);
-        User user = authService.findByPhoneNumber(phone);
+        String phone;
+        try {
+            phone = jwtService.verifyAccessToken(token).getSubject();
+        } catch (JwtException e) {
+            return ResponseEntity.status(401).build();
+        }
+        UserProfileCache.CachedProfile profile = userProfileCache.get(phone);
+
+        // If-None-Match matches → 304, no body
+        if (webRequest.checkNotModified(profile.etag())) {
+            return null;
+        }
 
         AuthMeResponse resp = new AuthMeResponse(
-                user.getUsername(),
-                user.getRole().name(),
-                user.getPhoneNumber()
+                profile.user().getUsername(),
+                profile.user().getRole(),
+                profile.user().getPhoneNumber()
         );
 
-        return ResponseEntity.ok(resp);
+        return ResponseEntity.ok()
+                .eTag(profile.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(resp);
+    }
+
+    // The user row was just read: share its security version so this node's
+    // registry catches up immediately with changes made on another instance.
+    private void publishSecurityVersion(User user) {
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getSecurityVersion()));
     }
 }
\ No newline at end of file
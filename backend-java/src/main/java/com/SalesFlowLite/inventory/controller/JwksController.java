@@ -0,0 +1,35 @@
+package com.SalesFlowLite.inventory.controller;
+
+import com.SalesFlowLite.inventory.security.JwtSigningKeys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public verification keys, so other services (backend-python) can check
+ * access tokens locally instead of calling back into this API.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        List<Map<String, Object>> keys = signingKeys.publishedKeys().stream()
+                .map(JwtSigningKeys::toJwk)
+                .toList();
+
+        // Short cache: clients refetch anyway when they meet an unknown kid
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keys));
+    }
+}
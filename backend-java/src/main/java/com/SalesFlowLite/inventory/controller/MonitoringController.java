@@ -0,0 +1,30 @@
+package com.SalesFlowLite.inventory.controller;
+
+import com.SalesFlowLite.inventory.model.dto.monitoring.ProductLockContention;
+import com.SalesFlowLite.inventory.monitoring.LockContentionTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/monitoring")
+@RequiredArgsConstructor
+public class MonitoringController {
+
+    private final LockContentionTracker lockContentionTracker;
+
+    // ============================ HOT-SKU LOCK CONTENTION (ADMIN) ============================
+    @GetMapping("/lock-contention")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ProductLockContention>> lockContention(
+            @RequestParam(defaultValue = "15") int minutes,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(lockContentionTracker.top(minutes, limit));
+    }
+}
@@ -1,13 +1,18 @@
 package com.SalesFlowLite.inventory.controller;
 
 import com.SalesFlowLite.inventory.model.dto.*;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueSeries;
+import com.SalesFlowLite.inventory.service.RevenueSeriesService;
 import com.SalesFlowLite.inventory.service.SaleService;
+import com.SalesFlowLite.inventory.service.TodaySalesCounters;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,6 +21,8 @@ import java.util.List;
 public class SaleController {
 
     private final SaleService saleService;
+    private final RevenueSeriesService revenueSeriesService;
+    private final TodaySalesCounters todaySalesCounters;
 
     // ============================ CREATE SALE (BULK – KEPT FOR BACKWARD COMPAT) ============================
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
@@ -47,6 +54,13 @@ public class SaleController {
         return ResponseEntity.ok(saleService.getSalesToday());
     }
 
+    // ============================ TODAY DASHBOARD (IN-MEMORY COUNTERS) ============================
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/today/summary")
+    public ResponseEntity<TodaySalesSummary> getTodaySummary() {
+        return ResponseEntity.ok(todaySalesCounters.summary());
+    }
+
     // ============================ SALES HISTORY (LAST X DAYS) ============================
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping("/history")
@@ -86,4 +100,16 @@ public class SaleController {
             @RequestParam(defaultValue = "90") int days) {
         return ResponseEntity.ok(saleService.getProductSalesHistoryByName(name, days));
     }
-}
\ No newline at end of file
+
+    // ============================ REVENUE TIME SERIES ============================
+    // bucket = hour | day | week | month; tz defaults to app.shop.time-zone; "to" is exclusive
+    @PreAuthorize("hasAnyRole('ADMIN','PYTHON_SERVICE')")
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueSeries> getRevenueSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) String tz) {
+        return ResponseEntity.ok(revenueSeriesService.getRevenueSeries(from, to, bucket, tz));
+    }
+}
@@ -1,14 +1,27 @@
 package com.SalesFlowLite.inventory.controller;
 
+import com.SalesFlowLite.inventory.model.dto.sync.DeviceSyncStatus;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncAckRequest;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncJobResponse;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncRequest;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncResponse;
+import com.SalesFlowLite.inventory.model.entity.StockReconciliation;
+import com.SalesFlowLite.inventory.security.JwtPrincipal;
+import com.SalesFlowLite.inventory.service.AuthService;
+import com.SalesFlowLite.inventory.service.OfflineStockLedgerService;
+import com.SalesFlowLite.inventory.service.SyncJobService;
 import com.SalesFlowLite.inventory.service.SyncService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/sync")
 public class SyncController {
@@ -16,17 +29,100 @@ public class SyncController {
     @Autowired
     private SyncService syncService;
 
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private OfflineStockLedgerService offlineStockLedgerService;
+
+    @Autowired
+    private AuthService authService;
+
     @PostMapping("/upload")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<SyncResponse> uploadOfflineData(@Valid @RequestBody SyncRequest syncRequest) {
+    public ResponseEntity<SyncResponse> uploadOfflineData(@Valid @RequestBody SyncRequest syncRequest,
+                                                          Authentication authentication) {
+        // Device state is keyed by the authenticated user, never the client-supplied id
+        syncRequest.setUserId(currentUserId(authentication));
         SyncResponse response = syncService.processOfflineBatch(syncRequest);
         return ResponseEntity.ok(response);
     }
 
+    // ============================ ASYNC UPLOAD (202 + JOB POLLING) ============================
+    @PostMapping("/jobs")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SyncJobResponse> submitSyncJob(@Valid @RequestBody SyncRequest syncRequest,
+                                                         Authentication authentication) {
+        syncRequest.setUserId(currentUserId(authentication));
+        SyncJobResponse job = syncJobService.submit(syncRequest, authentication.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/sync/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    // Same as /jobs for clients that only know the upload URL
+    @PostMapping(value = "/upload", params = "async=true")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SyncJobResponse> uploadOfflineDataAsync(@Valid @RequestBody SyncRequest syncRequest,
+                                                                  Authentication authentication) {
+        return submitSyncJob(syncRequest, authentication);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SyncJobResponse> getSyncJob(@PathVariable String jobId, Authentication authentication) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        return syncJobService.find(jobId, authentication.getName(), isAdmin)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/download")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<SyncResponse> downloadChanges(@RequestParam("lastSyncTimestamp") Long lastSyncTimestamp) {
-        SyncResponse response = syncService.getChangesSince(lastSyncTimestamp);
+    public ResponseEntity<SyncResponse> downloadChanges(
+            @RequestParam(value = "lastSyncTimestamp", required = false) Long lastSyncTimestamp,
+            @RequestParam(value = "deviceId", required = false) String deviceId,
+            Authentication authentication) {
+        SyncResponse response = deviceId == null
+                ? syncService.getChangesSince(lastSyncTimestamp)
+                : syncService.getChangesForDevice(currentUserId(authentication), deviceId, lastSyncTimestamp);
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/ack")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> acknowledge(@Valid @RequestBody SyncAckRequest request, Authentication authentication) {
+        syncService.acknowledge(currentUserId(authentication), request.getDeviceId(), request.getCursor());
+        return ResponseEntity.noContent().build();
+    }
+
+    // ============================ LAGGING DEVICES (ADMIN) ============================
+    @GetMapping("/devices/lagging")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DeviceSyncStatus>> laggingDevices(
+            @RequestParam(defaultValue = "60") long maxLagMinutes,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(syncService.getLaggingDevices(Duration.ofMinutes(maxLagMinutes), limit));
+    }
+
+    // ============================ OFFLINE OVERSELL RECONCILIATION (ADMIN) ============================
+    @GetMapping("/reconciliations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<StockReconciliation>> openReconciliations() {
+        return ResponseEntity.ok(offlineStockLedgerService.getOpenReconciliations());
+    }
+
+    @PostMapping("/reconciliations/{id}/resolve")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StockReconciliation> resolveReconciliation(@PathVariable Long id) {
+        return ResponseEntity.ok(offlineStockLedgerService.resolve(id));
+    }
+
+    private Long currentUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.userId();
+        }
+        return authService.findByPhoneNumber(authentication.getName()).getId();
+    }
+}
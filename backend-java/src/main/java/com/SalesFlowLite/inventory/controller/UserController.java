@@ -3,12 +3,15 @@ package com.SalesFlowLite.inventory.controller;
 import com.SalesFlowLite.inventory.model.dto.user.ChangePasswordRequest;
 import com.SalesFlowLite.inventory.model.dto.user.UpdateUserRequest;
 import com.SalesFlowLite.inventory.model.dto.user.UserResponse;
+import com.SalesFlowLite.inventory.service.UserProfileCache;
 import com.SalesFlowLite.inventory.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/user")
@@ -16,16 +19,25 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserProfileCache userProfileCache;
 
     // ================================
     // GET /me
     // ================================
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getMe(Authentication authentication) {
+    public ResponseEntity<UserResponse> getMe(Authentication authentication, WebRequest webRequest) {
 
         String phoneNumber = authentication.getName(); // sub = phoneNumber in your JWT
+        UserProfileCache.CachedProfile profile = userProfileCache.get(phoneNumber);
 
-        return ResponseEntity.ok(userService.getCurrentUser(phoneNumber));
+        // If-None-Match matches → 304, no body
+        if (webRequest.checkNotModified(profile.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(profile.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(profile.user());
     }
 
     // ================================
@@ -0,0 +1,98 @@
+package com.SalesFlowLite.inventory.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes across nodes. A request that commits a write gets a cookie
+ * valid for the sticky window; a request that presents it has its read-only
+ * transactions routed to the primary, whichever node behind the load balancer
+ * serves it. The cookie holds the expiry as epoch millis, so a client that
+ * ignores Max-Age is still only sticky for the window (give or take node
+ * clock skew).
+ *
+ * Registered by ReadReplicaConfig only when the replica is enabled.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "SF_RYW";
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReplicaRoutingDataSource.RequestWrites writes =
+                ReplicaRoutingDataSource.beginRequest(wroteRecently(request));
+        try {
+            chain.doFilter(request, new WriteCookieResponse(request, response, writes));
+            if (writes.committedWrite() && !response.isCommitted()) {
+                setCookie(request, response);
+            }
+        } finally {
+            ReplicaRoutingDataSource.endRequest();
+        }
+    }
+
+    private static boolean wroteRecently(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return false;
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void setCookie(HttpServletRequest request, HttpServletResponse response) {
+        long expiresAt = System.currentTimeMillis() + stickyWindow.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(expiresAt))
+                .path("/")
+                .maxAge(Duration.ofSeconds(Math.max(1, stickyWindow.toSeconds())))
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    // Writes happen before the body is serialized, so the cookie still fits in the headers
+    private final class WriteCookieResponse extends OnCommittedResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final ReplicaRoutingDataSource.RequestWrites writes;
+
+        WriteCookieResponse(HttpServletRequest request, HttpServletResponse response,
+                            ReplicaRoutingDataSource.RequestWrites writes) {
+            super(response);
+            this.request = request;
+            this.writes = writes;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (writes.committedWrite()) {
+                setCookie(request, (HttpServletResponse) getResponse());
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.SalesFlowLite.inventory.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Sends @Transactional(readOnly = true) work to the replica pool, everything
+ * else – writes, and anything outside a transaction – to the primary.
+ *
+ * The key is looked up when a transaction first needs a physical connection;
+ * the router sits behind a LazyConnectionDataSourceProxy (see ReadReplicaConfig)
+ * so by then the transaction's read-only flag is known.
+ *
+ * Read-your-writes: once a caller commits a write transaction, its read-only
+ * transactions stay on the primary for the sticky window, so a device that
+ * uploads and then downloads never reads from a replica that is still behind.
+ * Two records of the write, because the next request may land on another node:
+ * the client carries one as a short-lived cookie ({@link ReadYourWritesFilter}),
+ * and this node also remembers the principal name for clients that drop
+ * cookies. Anonymous work and background threads are sticky only via the cookie.
+ *
+ * Reads paired with a primary-side value – a sync cursor taken from the
+ * server clock – run inside {@link #onPrimary}: a lagging replica would return
+ * fewer rows than the cursor claims and the device would never ask again.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    // Set by ReadYourWritesFilter for the duration of one HTTP request
+    private static final ThreadLocal<RequestWrites> REQUEST = new ThreadLocal<>();
+
+    private final long stickyNanos;
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter stickyReads;
+    private final Counter pinnedReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    Duration stickyWindow, MeterRegistry meterRegistry) {
+        this.stickyNanos = stickyWindow.toNanos();
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.writes = routed(meterRegistry, "primary", "write");
+        this.reads = routed(meterRegistry, "replica", "read_only");
+        this.stickyReads = routed(meterRegistry, "primary", "read_your_writes");
+        this.pinnedReads = routed(meterRegistry, "primary", "pinned");
+    }
+
+    /**
+     * Runs work with every transaction it opens on the primary, read-only ones
+     * included. A no-op when no replica is configured.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_PINNED.remove();
+            } else {
+                PRIMARY_PINNED.set(outer);
+            }
+        }
+    }
+
+    public static void onPrimary(Runnable work) {
+        onPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Write state of the current HTTP request: whether the client presented a
+     * recent write, and whether one of its own transactions committed a write.
+     */
+    static final class RequestWrites {
+
+        private final boolean clientWroteRecently;
+        private volatile boolean committedWrite;
+
+        RequestWrites(boolean clientWroteRecently) {
+            this.clientWroteRecently = clientWroteRecently;
+        }
+
+        boolean committedWrite() {
+            return committedWrite;
+        }
+    }
+
+    static RequestWrites beginRequest(boolean clientWroteRecently) {
+        RequestWrites writes = new RequestWrites(clientWroteRecently);
+        REQUEST.set(writes);
+        return writes;
+    }
+
+    static void endRequest() {
+        REQUEST.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String caller = currentCaller();
+        RequestWrites request = REQUEST.get();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (PRIMARY_PINNED.get() != null) {
+                pinnedReads.increment();
+                return Target.PRIMARY;
+            }
+            if ((request != null && request.clientWroteRecently) || (caller != null && wroteRecently(caller))) {
+                stickyReads.increment();
+                return Target.PRIMARY;
+            }
+            reads.increment();
+            return Target.REPLICA;
+        }
+
+        if ((caller != null || request != null) && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (caller != null) {
+                        recordWrite(caller);
+                    }
+                    if (request != null) {
+                        request.committedWrite = true;
+                    }
+                }
+            });
+        }
+        writes.increment();
+        return Target.PRIMARY;
+    }
+
+    // =========================================================
+    // READ-YOUR-WRITES
+    // =========================================================
+
+    private boolean wroteRecently(String caller) {
+        Long at = lastWriteAt.get(caller);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at < stickyNanos) {
+            return true;
+        }
+        lastWriteAt.remove(caller, at);
+        return false;
+    }
+
+    private void recordWrite(String caller) {
+        long now = System.nanoTime();
+        if (lastWriteAt.size() >= MAX_TRACKED_WRITERS) {
+            lastWriteAt.values().removeIf(at -> now - at >= stickyNanos);
+            // Still full: every entry is inside the window – start over rather than track LRU order
+            if (lastWriteAt.size() >= MAX_TRACKED_WRITERS) {
+                lastWriteAt.clear();
+            }
+        }
+        lastWriteAt.put(caller, now);
+    }
+
+    private static String currentCaller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    private static Counter routed(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("salesflow.datasource.routed")
+                .description("Transactions routed to the primary or the read replica")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.SalesFlowLite.inventory.event;
+
+import com.SalesFlowLite.inventory.model.entity.Product;
+
+/**
+ * A product row changed. Published inside the writing transaction and
+ * delivered to listeners after commit.
+ *
+ * @param version products.last_updated after the change (epoch milli)
+ * @param stock   stock_quantity after the change, null for deletions
+ */
+public record CatalogChangedEvent(
+        Long productId,
+        Long version,
+        Integer stock,
+        boolean deleted
+) {
+    public static CatalogChangedEvent updated(Product product) {
+        return new CatalogChangedEvent(product.getId(), product.getLastUpdated(), product.getStockQuantity(), false);
+    }
+
+    public static CatalogChangedEvent deleted(Long productId) {
+        return new CatalogChangedEvent(productId, System.currentTimeMillis(), null, true);
+    }
+}
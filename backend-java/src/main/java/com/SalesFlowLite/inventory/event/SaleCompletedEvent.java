@@ -0,0 +1,19 @@
+package com.SalesFlowLite.inventory.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A sale (checkout, bulk import or offline upload) was written. Published
+ * inside the writing transaction and delivered to listeners after commit.
+ *
+ * @param saleDate sales.sale_date, JVM wall-clock time
+ * @param units    sum of line quantities
+ */
+public record SaleCompletedEvent(
+        Long saleId,
+        LocalDateTime saleDate,
+        BigDecimal totalAmount,
+        long units
+) {
+}
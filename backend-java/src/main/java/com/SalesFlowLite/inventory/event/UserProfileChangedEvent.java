@@ -0,0 +1,10 @@
+package com.SalesFlowLite.inventory.event;
+
+/**
+ * A user row changed (profile fields or password). Cached profiles for the
+ * phone number are dropped after commit.
+ */
+public record UserProfileChangedEvent(
+        String phoneNumber
+) {
+}
@@ -0,0 +1,11 @@
+package com.SalesFlowLite.inventory.event;
+
+/**
+ * A user's credentials or role changed (or a node observed the current value).
+ * Access tokens issued with an older security version stop being accepted.
+ */
+public record UserSecurityChangedEvent(
+        Long userId,
+        int securityVersion
+) {
+}
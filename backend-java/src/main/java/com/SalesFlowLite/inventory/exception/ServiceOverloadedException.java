@@ -0,0 +1,17 @@
+package com.SalesFlowLite.inventory.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a bounded worker pool refuses new work. Mapped to 503 + Retry-After.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
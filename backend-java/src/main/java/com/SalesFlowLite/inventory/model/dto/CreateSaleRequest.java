@@ -1,8 +1,11 @@
 // src/main/java/com/SalesFlowLite/inventory/model/dto/CreateSaleRequest.java
 package com.SalesFlowLite.inventory.model.dto;
 
+import jakarta.validation.constraints.Size;
+
 import java.util.List;
 
 public record CreateSaleRequest(
-        List<SaleItemRequest> items
+        List<SaleItemRequest> items,
+        @Size(max = 64) String clientSaleId  // Offline sales: device-generated id (UUID), makes resubmits no-ops
 ) {}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.SalesFlowLite.inventory.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-only projection: one row per sale item, sale header repeated.
+ * Filled straight from a JPQL constructor expression – no entities, no lazy loads.
+ */
+public record SaleLineView(
+        Long saleId,
+        Long lastUpdated,
+        LocalDateTime saleDate,
+        BigDecimal totalAmount,
+        Long productId,
+        String productName,
+        String productSku,
+        Integer quantity,
+        BigDecimal unitPrice,
+        BigDecimal subtotal
+) {}
@@ -0,0 +1,38 @@
+package com.SalesFlowLite.inventory.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * GET /api/v1/sales/today/summary – served from in-memory counters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodaySalesSummary {
+    private LocalDate date;                 // shop-local
+    private String timeZone;
+    private BigDecimal revenue;
+    private Long sales;
+    private Long units;
+    private List<Hour> hourly;              // 24 entries, shop-local hour of day
+    private OffsetDateTime reconciledAt;    // last time the counters were rebuilt from the database
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hour {
+        private Integer hour;
+        private BigDecimal revenue;
+        private Long sales;
+        private Long units;
+    }
+}
@@ -0,0 +1,28 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Size and freshness of the in-memory sales column store.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColumnStoreStatus {
+    private Boolean ready;            // false until the initial load has finished
+    private Long lines;
+    private Integer products;
+    private Integer chunks;
+    private Long columnBytes;         // allocated column arrays, 20 bytes per line slot
+    private Long lastLoadedLineId;    // highest sale_items.id in the store
+    private LocalDateTime lastRefreshAt;
+    private Long evictedLines;        // oldest lines dropped to stay under max-lines
+    private LocalDate completeFrom;   // first day queries may start on; null while nothing was dropped
+}
@@ -0,0 +1,23 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sales of one calendar day (sale_date as stored, server time).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesTotal {
+    private LocalDate day;
+    private Long quantity;
+    private BigDecimal revenue;
+    private Long lines;
+}
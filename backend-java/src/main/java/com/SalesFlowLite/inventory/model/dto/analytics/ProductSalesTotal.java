@@ -0,0 +1,24 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of one product over the requested days.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesTotal {
+    private Long productId;
+    private String sku;
+    private String productName;   // name on the most recently loaded sale line
+    private Long quantity;
+    private BigDecimal revenue;
+    private Long lines;           // sale lines, not sales
+}
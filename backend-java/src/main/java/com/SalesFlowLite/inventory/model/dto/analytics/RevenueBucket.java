@@ -0,0 +1,24 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Revenue of one time bucket, bounds in the requested zone's offset.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBucket {
+    private OffsetDateTime start;
+    private OffsetDateTime end;       // exclusive
+    private BigDecimal revenue;
+    private Long sales;
+    private Boolean closed;           // false for the current (still changing) bucket and later ones
+}
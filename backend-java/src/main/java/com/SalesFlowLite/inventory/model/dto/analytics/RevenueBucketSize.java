@@ -0,0 +1,54 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Revenue series granularity. {@link #truncate} mirrors PostgreSQL date_trunc
+ * for the same field: weeks start on Monday, all buckets in local time of the
+ * requested zone.
+ */
+public enum RevenueBucketSize {
+    HOUR,
+    DAY,
+    WEEK,
+    MONTH;
+
+    /** date_trunc field name. */
+    public String field() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public ZonedDateTime truncate(ZonedDateTime time) {
+        return switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.toLocalDate().atStartOfDay(time.getZone());
+            case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    .atStartOfDay(time.getZone());
+            case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay(time.getZone());
+        };
+    }
+
+    /** Start of the following bucket; day-based buckets re-anchor at local midnight across DST. */
+    public ZonedDateTime next(ZonedDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.toLocalDate().plusDays(1).atStartOfDay(bucketStart.getZone());
+            case WEEK -> bucketStart.toLocalDate().plusWeeks(1).atStartOfDay(bucketStart.getZone());
+            case MONTH -> bucketStart.toLocalDate().plusMonths(1).atStartOfDay(bucketStart.getZone());
+        };
+    }
+
+    /** Case-insensitive; null when the value is not a bucket size. */
+    public static RevenueBucketSize parse(String value) {
+        for (RevenueBucketSize size : values()) {
+            if (size.name().equalsIgnoreCase(value)) {
+                return size;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * GET /api/v1/sales/revenue: one entry per bucket, empty buckets included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSeries {
+    private String bucket;
+    private String timeZone;
+    private BigDecimal totalRevenue;
+    private Long totalSales;
+    private List<RevenueBucket> buckets;
+}
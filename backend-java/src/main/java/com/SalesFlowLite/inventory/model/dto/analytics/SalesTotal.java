@@ -0,0 +1,25 @@
+package com.SalesFlowLite.inventory.model.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Sum over [from, to), optionally for a single product.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesTotal {
+    private LocalDate from;
+    private LocalDate to;         // exclusive
+    private Long productId;       // null = all products
+    private Long quantity;
+    private BigDecimal revenue;
+    private Long lines;
+}
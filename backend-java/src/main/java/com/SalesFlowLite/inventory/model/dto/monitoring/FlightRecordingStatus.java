@@ -0,0 +1,23 @@
+package com.SalesFlowLite.inventory.model.dto.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of the on-demand JFR recording behind /actuator/jfr.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingStatus {
+    private String state;          // NONE, RUNNING, STOPPED
+    private String settings;       // JFR configuration: default (~1%) or profile (~2%)
+    private String startedAt;
+    private String stopsAt;        // hard stop after max duration, even if nobody calls DELETE
+    private Long maxSizeBytes;
+    private Long sizeBytes;        // recorded so far; 0 until the first chunk is flushed
+    private String download;       // GET this path for the .jfr file
+}
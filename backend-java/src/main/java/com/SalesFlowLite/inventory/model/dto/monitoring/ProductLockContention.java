@@ -0,0 +1,27 @@
+package com.SalesFlowLite.inventory.model.dto.monitoring;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row-lock statistics of one product over the requested window.
+ * Percentiles are bucket upper bounds (±25%), times in milliseconds.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductLockContention {
+    private Long productId;
+    private String sku;
+    private Long locks;          // checkouts that locked this product
+    private Double totalWaitMs;  // summed wait – what the product cost checkout overall
+    private Double waitP50Ms;
+    private Double waitP95Ms;
+    private Double waitP99Ms;
+    private Double maxWaitMs;
+    private Double avgHoldMs;    // lock acquired → transaction completed
+    private Double maxHoldMs;
+}
@@ -0,0 +1,20 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceSyncStatus {
+    private Long userId;
+    private String deviceId;
+    private Long lastAckCursor;
+    private Long lastUploadWatermark;
+    private Long lastSeenAt;
+    private Long lagMs;            // how long the oldest change not yet acknowledged has waited
+    private Long pendingProducts;  // products changed since lastAckCursor
+}
@@ -0,0 +1,21 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+import com.SalesFlowLite.inventory.model.dto.SaleResponse;
+
+import java.util.List;
+
+/**
+ * One page of the sales sync delta.
+ *
+ * @param sales  changed sales, in cursor order
+ * @param cursor last_updated of the last sale sent when more changes remain before the
+ *               page's upper bound, otherwise null
+ */
+public record SalesDelta(
+        List<SaleResponse> sales,
+        Long cursor
+) {
+    public boolean hasMore() {
+        return cursor != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Sent by a device once it has applied a download – moves its server-side cursor.
+ */
+@Data
+public class SyncAckRequest {
+    @NotBlank
+    @Size(max = 100)
+    private String deviceId;
+
+    // newSyncTimestamp of the download the device applied
+    @NotNull
+    private Long cursor;
+}
@@ -0,0 +1,28 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncJobResponse {
+    private String jobId;
+    private SyncJobStatus status;
+    private int totalSales;
+    private int processedSales;
+    private int synced;
+    private int conflicts;
+    private int failed;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String error;
+    private List<SyncSaleResult> results;
+}
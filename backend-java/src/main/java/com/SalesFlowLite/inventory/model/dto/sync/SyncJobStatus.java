@@ -0,0 +1,8 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
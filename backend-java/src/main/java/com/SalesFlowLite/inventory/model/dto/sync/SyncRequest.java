@@ -1,6 +1,8 @@
 package com.SalesFlowLite.inventory.model.dto.sync;
 
 import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.util.List;
@@ -8,6 +10,10 @@ import java.util.List;
 @Data
 public class SyncRequest {
     private Long userId;
-    private List<CreateSaleRequest> offlineSales;
+    // Stable per-install identifier; optional for older clients
+    @Size(max = 100)
+    private String deviceId;
+    // Each with a clientSaleId, so resubmitting after a lost response or job is safe
+    private List<@Valid CreateSaleRequest> offlineSales;
     private Long offlineTimestamp;
-}
\ No newline at end of file
+}
@@ -11,11 +11,10 @@ import java.util.List;
 public class SyncResponse {
     private List<String> successes = new ArrayList<>();
     private List<String> conflicts = new ArrayList<>();
+    // Commit-safe cursor: changes after it may still be in flight and come with the next download
     private Long newSyncTimestamp;
     private List<ProductDto> updatedProducts = new ArrayList<>();
     private List<SaleResponse> updatedSales = new ArrayList<>();
-
-    public SyncResponse() {
-        this.newSyncTimestamp = System.currentTimeMillis();
-    }
+    // More changes after newSyncTimestamp – download again from it right away
+    private boolean hasMore;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.SalesFlowLite.inventory.model.dto.sync;
+
+/**
+ * Outcome of one offline sale inside an upload.
+ *
+ * @param index  position of the sale in SyncRequest.offlineSales
+ * @param status SYNCED, CONFLICT or FAILED
+ * @param saleId id of the created sale (SYNCED only)
+ */
+public record SyncSaleResult(
+        int index,
+        String status,
+        Long saleId,
+        String message
+) {
+    public static final String SYNCED = "SYNCED";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String FAILED = "FAILED";
+}
@@ -0,0 +1,39 @@
+package com.SalesFlowLite.inventory.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * What the server knows about one device of one user.
+ * Cursors are epoch-millis (same clock as Product.lastUpdated), so the pending
+ * delta for a device is simply "everything updated after lastAckCursor".
+ */
+@Entity
+@Table(name = "device_sync_state")
+@IdClass(DeviceSyncStateId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceSyncState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "device_id", length = 100)
+    private String deviceId;
+
+    // Last change cursor the device confirmed it has applied
+    @Column(name = "last_ack_cursor", nullable = false)
+    private Long lastAckCursor;
+
+    // offlineTimestamp of the newest upload accepted from this device
+    @Column(name = "last_upload_watermark", nullable = false)
+    private Long lastUploadWatermark;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Long lastSeenAt;
+}
@@ -0,0 +1,15 @@
+package com.SalesFlowLite.inventory.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeviceSyncStateId implements Serializable {
+    private Long userId;
+    private String deviceId;
+}
@@ -6,7 +6,9 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "refresh_tokens", indexes = {
-        @Index(columnList = "token", name = "idx_refresh_token_token")
+        @Index(columnList = "token_hash", name = "idx_refresh_tokens_token_hash", unique = true),
+        @Index(columnList = "expires_at", name = "idx_refresh_tokens_expires_at"),
+        @Index(columnList = "user_id", name = "idx_refresh_tokens_user_id")
 })
 @Getter
 @Setter
@@ -19,8 +21,13 @@ public class RefreshToken {
     @Column(length = 36)
     private String id;
 
-    @Column(nullable = false, unique = true, length = 255)
-    private String token;
+    // SHA-256 hex of the raw token – the raw value is never stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Raw value, only populated on the instance returned at issue time
+    @Transient
+    private String rawToken;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
@@ -39,6 +39,14 @@ public class Sale {
     @Column(name = "last_updated")
     private Long lastUpdated;
 
+    // User who uploaded an offline sale; client sale ids are only unique per user
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Device-generated id of an offline sale – unique per user, so a resubmitted upload never records it twice
+    @Column(name = "client_sale_id", length = 64)
+    private String clientSaleId;
+
     @PrePersist
     @PreUpdate
     public void updateTimestamp() {
@@ -0,0 +1,38 @@
+package com.SalesFlowLite.inventory.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Raised when offline sales folded into a product exceed its stock.
+ * The stock is clamped at zero and the missing units are recorded here.
+ */
+@Entity
+@Table(name = "stock_reconciliations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReconciliation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_sku", nullable = false, length = 255)
+    private String productSku;
+
+    // Units sold offline that were not in stock
+    @Column(nullable = false)
+    private Long shortfall;
+
+    @Column(name = "detected_at", nullable = false)
+    private Long detectedAt;
+
+    @Column(nullable = false)
+    private boolean resolved;
+}
@@ -11,6 +11,7 @@ public class SyncLog {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private Long userId;
+    private String deviceId;
     private Long syncTimestamp;
     private String status;
-}
\ No newline at end of file
+}
@@ -37,6 +37,12 @@ public class User {
     @Column(nullable = false, length = 20)
     private Role role = Role.USER;
 
+    // Bumped on password/role change; access tokens with an older "sv" are rejected
+    @JsonIgnore
+    @Builder.Default
+    @Column(name = "security_version", nullable = false)
+    private int securityVersion = 0;
+
     @Column(name = "created_at", nullable = false)
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,92 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Stage timers and outcome counters for the checkout path.
+ *
+ *   salesflow.checkout.stage{endpoint, stage}     – Timer (histogram buckets set in properties)
+ *   salesflow.checkout.outcome{endpoint, outcome} – Counter
+ *
+ * Endpoint is passed explicitly by the service method rather than read from
+ * the request, so async sync jobs are tagged the same as /sync/upload.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutMetrics {
+
+    // Endpoint tags
+    public static final String SALES = "/sales";
+    public static final String SALES_SINGLE = "/sales/single";
+    public static final String SALES_BULK = "/sales/bulk";
+    public static final String SYNC_UPLOAD = "/sync/upload";
+
+    public enum Stage {
+        PRODUCT_LOOKUP("product_lookup"),
+        LOCK_WAIT("lock_wait"),
+        STOCK_UPDATE("stock_update"),
+        SALE_INSERT("sale_insert"),
+        SERIALIZATION("serialization");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        SUCCESS("success"),
+        INSUFFICIENT_STOCK("insufficient_stock"),
+        UNKNOWN_PRODUCT("unknown_product"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public <T> T time(String endpoint, Stage stage, Supplier<T> work) {
+        return timer(endpoint, stage).record(work);
+    }
+
+    public void time(String endpoint, Stage stage, Runnable work) {
+        timer(endpoint, stage).record(work);
+    }
+
+    public void outcome(String endpoint, Outcome outcome) {
+        counters.computeIfAbsent(endpoint + '|' + outcome.tag, k -> Counter.builder("salesflow.checkout.outcome")
+                        .description("Checkout attempts by result")
+                        .tag("endpoint", endpoint)
+                        .tag("outcome", outcome.tag)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private Timer timer(String endpoint, Stage stage) {
+        return timers.computeIfAbsent(endpoint + '|' + stage.tag, k -> Timer.builder("salesflow.checkout.stage")
+                .description("Time spent in each checkout stage")
+                .tag("endpoint", endpoint)
+                .tag("stage", stage.tag)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,270 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import com.SalesFlowLite.inventory.model.dto.monitoring.ProductLockContention;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-product row-lock wait and hold times for checkout, over a rolling window.
+ *
+ * A ring of one-minute buckets; each bucket maps product id → striped counters
+ * (LongAdder / LongAccumulator) and a log-linear wait histogram with two
+ * sub-buckets per power of two (16µs … 16s, ±25%). Recording is a map lookup
+ * plus a few uncontended adds. A bucket is replaced when its minute comes
+ * round again, so memory stays bounded by window × locked products.
+ *
+ * Hold time runs from lock acquisition to transaction completion, recorded by
+ * a TransactionSynchronization – that is how long other checkouts of the same
+ * product had to wait behind this one.
+ */
+@Component
+public class LockContentionTracker {
+
+    private static final long BUCKET_MS = TimeUnit.MINUTES.toMillis(1);
+
+    // Histogram: slot 0 < 16µs, then 2 slots per octave 2^4 … 2^23 µs, last slot = overflow
+    private static final int MIN_OCTAVE = 4;
+    private static final int OCTAVES = 20;
+    private static final int SLOTS = 1 + OCTAVES * 2 + 1;
+
+    private final int windowMinutes;
+    private final int maxProductsPerBucket;
+    private final AtomicReferenceArray<Bucket> ring;
+    private final Counter dropped;
+
+    public LockContentionTracker(MeterRegistry meterRegistry,
+                                 @Value("${app.monitoring.lock-contention.window-minutes:30}") int windowMinutes,
+                                 @Value("${app.monitoring.lock-contention.max-products-per-minute:5000}") int maxProductsPerBucket) {
+        this.windowMinutes = windowMinutes;
+        this.maxProductsPerBucket = maxProductsPerBucket;
+        this.ring = new AtomicReferenceArray<>(windowMinutes);
+        this.dropped = Counter.builder("salesflow.checkout.lock_contention.dropped")
+                .description("Lock samples not tracked because the minute bucket was full")
+                .register(meterRegistry);
+    }
+
+    // =========================================================
+    // RECORDING
+    // =========================================================
+
+    /**
+     * Records how long acquiring the row lock on a product took and, when called
+     * inside a transaction, how long the lock is held until it completes.
+     */
+    public void lockAcquired(Long productId, String sku, long waitNanos) {
+        long acquiredAt = System.nanoTime();
+        ProductStats stats = stats(productId, sku);
+        if (stats != null) {
+            stats.recordWait(waitNanos);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ProductStats current = stats(productId, sku);
+                    if (current != null) {
+                        current.recordHold(System.nanoTime() - acquiredAt);
+                    }
+                }
+            });
+        }
+    }
+
+    private ProductStats stats(Long productId, String sku) {
+        Bucket bucket = currentBucket();
+        ProductStats stats = bucket.products.get(productId);
+        if (stats != null) {
+            return stats;
+        }
+        if (bucket.products.size() >= maxProductsPerBucket) {
+            dropped.increment();
+            return null;
+        }
+        return bucket.products.computeIfAbsent(productId, id -> new ProductStats(sku));
+    }
+
+    private Bucket currentBucket() {
+        long minute = System.currentTimeMillis() / BUCKET_MS;
+        int index = (int) (minute % windowMinutes);
+        while (true) {
+            Bucket bucket = ring.get(index);
+            if (bucket != null && bucket.minute == minute) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(minute);
+            if (ring.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    // =========================================================
+    // REPORT
+    // =========================================================
+
+    /**
+     * Most contended products over the last {@code minutes} (capped at the
+     * configured window), ordered by total wait time.
+     */
+    public List<ProductLockContention> top(int minutes, int limit) {
+        long now = System.currentTimeMillis() / BUCKET_MS;
+        long oldest = now - Math.min(Math.max(minutes, 1), windowMinutes) + 1;
+
+        Map<Long, Merged> merged = new HashMap<>();
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket == null || bucket.minute < oldest || bucket.minute > now) {
+                continue;
+            }
+            bucket.products.forEach((productId, stats) ->
+                    merged.computeIfAbsent(productId, id -> new Merged(stats.sku)).add(stats));
+        }
+
+        List<Map.Entry<Long, Merged>> ranked = new ArrayList<>(merged.entrySet());
+        ranked.sort(Comparator.comparingLong((Map.Entry<Long, Merged> e) -> e.getValue().waitTotalNanos).reversed());
+        return ranked.stream()
+                .limit(Math.max(limit, 0))
+                .map(e -> e.getValue().toDto(e.getKey()))
+                .toList();
+    }
+
+    // =========================================================
+    // INTERNALS
+    // =========================================================
+    private static final class Bucket {
+        final long minute;
+        final Map<Long, ProductStats> products = new ConcurrentHashMap<>();
+
+        Bucket(long minute) {
+            this.minute = minute;
+        }
+    }
+
+    private static final class ProductStats {
+        final String sku;
+        final LongAdder locks = new LongAdder();
+        final LongAdder waitTotal = new LongAdder();
+        final LongAccumulator waitMax = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray waitHistogram = new AtomicLongArray(SLOTS);
+        final LongAdder holds = new LongAdder();
+        final LongAdder holdTotal = new LongAdder();
+        final LongAccumulator holdMax = new LongAccumulator(Math::max, 0);
+
+        ProductStats(String sku) {
+            this.sku = sku;
+        }
+
+        void recordWait(long nanos) {
+            locks.increment();
+            waitTotal.add(nanos);
+            waitMax.accumulate(nanos);
+            waitHistogram.incrementAndGet(slot(TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+
+        void recordHold(long nanos) {
+            holds.increment();
+            holdTotal.add(nanos);
+            holdMax.accumulate(nanos);
+        }
+    }
+
+    private static final class Merged {
+        final String sku;
+        final long[] waitHistogram = new long[SLOTS];
+        long locks;
+        long waitTotalNanos;
+        long waitMaxNanos;
+        long holds;
+        long holdTotalNanos;
+        long holdMaxNanos;
+
+        Merged(String sku) {
+            this.sku = sku;
+        }
+
+        void add(ProductStats stats) {
+            locks += stats.locks.sum();
+            waitTotalNanos += stats.waitTotal.sum();
+            waitMaxNanos = Math.max(waitMaxNanos, stats.waitMax.get());
+            holds += stats.holds.sum();
+            holdTotalNanos += stats.holdTotal.sum();
+            holdMaxNanos = Math.max(holdMaxNanos, stats.holdMax.get());
+            for (int i = 0; i < SLOTS; i++) {
+                waitHistogram[i] += stats.waitHistogram.get(i);
+            }
+        }
+
+        ProductLockContention toDto(Long productId) {
+            return ProductLockContention.builder()
+                    .productId(productId)
+                    .sku(sku)
+                    .locks(locks)
+                    .totalWaitMs(millis(waitTotalNanos))
+                    .waitP50Ms(percentileMs(0.50))
+                    .waitP95Ms(percentileMs(0.95))
+                    .waitP99Ms(percentileMs(0.99))
+                    .maxWaitMs(millis(waitMaxNanos))
+                    .avgHoldMs(holds == 0 ? 0.0 : millis(holdTotalNanos / holds))
+                    .maxHoldMs(millis(holdMaxNanos))
+                    .build();
+        }
+
+        private double percentileMs(double percentile) {
+            long total = 0;
+            for (long count : waitHistogram) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+            long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < SLOTS; i++) {
+                seen += waitHistogram[i];
+                if (seen >= rank) {
+                    // Overflow slot has no upper bound – report the observed max instead
+                    return i == SLOTS - 1 ? millis(waitMaxNanos) : upperBoundMicros(i) / 1000.0;
+                }
+            }
+            return millis(waitMaxNanos);
+        }
+    }
+
+    static int slot(long micros) {
+        if (micros < (1L << MIN_OCTAVE)) {
+            return 0;
+        }
+        int octave = 63 - Long.numberOfLeadingZeros(micros);
+        int half = (int) ((micros >>> (octave - 1)) & 1);
+        return Math.min(1 + (octave - MIN_OCTAVE) * 2 + half, SLOTS - 1);
+    }
+
+    static long upperBoundMicros(int slot) {
+        if (slot == 0) {
+            return 1L << MIN_OCTAVE;
+        }
+        int octave = MIN_OCTAVE + (slot - 1) / 2;
+        int half = (slot - 1) % 2;
+        return (1L << octave) + (half + 1) * (1L << (octave - 1));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
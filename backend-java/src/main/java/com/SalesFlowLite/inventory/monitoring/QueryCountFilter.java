@@ -0,0 +1,108 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the SQL statements each request sends, to make N+1 patterns visible.
+ *
+ * Outside the prod profile the count is returned in an X-Query-Count header.
+ * Nothing is buffered: the header is set just before the response commits,
+ * or after the chain when it is still uncommitted, so statements issued while
+ * a large body is streaming are not in it. Every profile records
+ * salesflow.http.queries{method, uri} and logs a warning for requests above
+ * app.query-count.warn-threshold.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeader;
+    private final long warnThreshold;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            Environment environment,
+                            @Value("${app.query-count.warn-threshold:50}") long warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeader = !environment.acceptsProfiles(Profiles.of("prod"));
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket upgrades get the container's own response
+        return request.getRequestURI().startsWith("/ws/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            chain.doFilter(request, exposeHeader ? new CountHeaderResponse(response, scope) : response);
+            long count = scope.count();
+            record(request, count);
+            if (exposeHeader && !response.isCommitted()) {
+                response.setHeader(HEADER, Long.toString(count));
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long count) {
+        // Route template, not the raw path, keeps the uri tag bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        summaries.computeIfAbsent(method + ' ' + uri, k -> DistributionSummary.builder("salesflow.http.queries")
+                        .description("SQL statements executed per request")
+                        .baseUnit("statements")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry))
+                .record(count);
+
+        if (count > warnThreshold) {
+            log.warn("{} {} executed {} SQL statements (threshold {}) – possible N+1",
+                    method, request.getRequestURI(), count, warnThreshold);
+        }
+    }
+
+    // Writes the count so far into the headers right before the first byte goes out
+    private static final class CountHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final QueryCounter.Scope scope;
+
+        CountHeaderResponse(HttpServletResponse response, QueryCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            ((HttpServletResponse) getResponse()).setHeader(HEADER, Long.toString(scope.count()));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+/**
+ * Per-thread count of JDBC statements sent to the database.
+ *
+ * A scope is opened around a unit of work (an HTTP request, a test call) and
+ * every statement executed on that thread while it is open is added to it.
+ * Scopes nest: an outer scope also sees what inner scopes counted, so a test
+ * budget and the request filter can count the same call independently.
+ *
+ *   try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *       service.getAllSales();
+ *       long statements = scope.count();
+ *   }
+ *
+ * Work handed to other threads (async sync jobs, schedulers) is not counted.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void increment() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private long count;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
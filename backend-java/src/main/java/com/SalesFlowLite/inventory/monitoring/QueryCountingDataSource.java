@@ -0,0 +1,103 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import com.SalesFlowLite.inventory.monitoring.RequestTiming.Category;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every statement execution to {@link QueryCounter}
+ * and, for requests sampled by ServerTimingFilter, the time spent obtaining
+ * connections and executing statements to {@link RequestTiming} (db).
+ *
+ * Sits below Hibernate, Spring Data and JdbcTemplate alike, so native queries
+ * and the offline ledger's JDBC writes are counted the same as JPQL. A JDBC
+ * batch (executeBatch) counts as one statement – it is one round trip.
+ *
+ * Extends DelegatingDataSource so Boot's pool metrics and health checks still
+ * unwrap to the Hikari pool underneath.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        // Pool wait counts as db time
+        try (RequestTiming.Section ignored = RequestTiming.section(Category.DB)) {
+            return countingConnection(obtainTargetDataSource().getConnection());
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        try (RequestTiming.Section ignored = RequestTiming.section(Category.DB)) {
+            return countingConnection(obtainTargetDataSource().getConnection(username, password));
+        }
+    }
+
+    private static Connection countingConnection(Connection target) {
+        return proxy(Connection.class, target, (method, result) -> switch (method.getName()) {
+            case "createStatement" -> countingStatement(Statement.class, (Statement) result);
+            case "prepareStatement" -> countingStatement(PreparedStatement.class, (PreparedStatement) result);
+            case "prepareCall" -> countingStatement(CallableStatement.class, (CallableStatement) result);
+            default -> result;
+        });
+    }
+
+    private static <T extends Statement> T countingStatement(Class<T> type, T target) {
+        return proxy(type, target, (method, result) -> result);
+    }
+
+    @FunctionalInterface
+    private interface ResultMapper {
+        Object map(Method method, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+        boolean isStatement = Statement.class.isAssignableFrom(type);
+        InvocationHandler handler = (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                default:
+                    break;
+            }
+            boolean execute = isStatement && method.getName().startsWith("execute");
+            // Commit/rollback are round trips too: timed as db, not counted as statements
+            boolean endOfTransaction = !isStatement
+                    && (method.getName().equals("commit") || method.getName().equals("rollback"));
+            if (!execute && !endOfTransaction) {
+                return invoke(target, method, args, mapper);
+            }
+            if (execute) {
+                QueryCounter.increment();
+            }
+            try (RequestTiming.Section ignored = RequestTiming.section(Category.DB)) {
+                return invoke(target, method, args, mapper);
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args, ResultMapper mapper) throws Throwable {
+        try {
+            return mapper.map(method, method.invoke(target, args));
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
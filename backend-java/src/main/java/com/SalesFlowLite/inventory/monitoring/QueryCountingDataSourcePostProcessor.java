@@ -0,0 +1,30 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a {@link QueryCountingDataSource}
+ * before Flyway, JPA or JdbcTemplate get hold of it.
+ *
+ * Only the bean named "dataSource" is wrapped: with read replicas enabled the
+ * primary and replica pools are reached through it (see ReadReplicaConfig),
+ * and wrapping them as well would count every statement twice.
+ */
+@Component
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource
+                && !(bean instanceof QueryCountingDataSource)
+                && APPLICATION_DATA_SOURCE.equals(beanName)) {
+            return new QueryCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,94 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+/**
+ * Per-thread time breakdown of one sampled request, for the Server-Timing header.
+ *
+ * Hooks wrap their work in a section:
+ *
+ *   try (RequestTiming.Section ignored = RequestTiming.section(Category.DB)) {
+ *       ...
+ *   }
+ *
+ * section() returns null when the request is not sampled (try-with-resources
+ * skips a null resource), so an unsampled request pays one ThreadLocal read.
+ *
+ * Sections record exclusive time: a query run while authenticating counts
+ * as db, not as db and auth, so the categories add up to at most the total.
+ */
+public final class RequestTiming {
+
+    public enum Category {
+        AUTH("auth", "JWT authentication"),
+        DB("db", "Connection + statements"),
+        SER("ser", "Response serialization");
+
+        final String metric;
+        final String description;
+
+        Category(String metric, String description) {
+            this.metric = metric;
+            this.description = description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] exclusiveNanos = new long[Category.values().length];
+    private long recordedNanos;
+
+    private RequestTiming() {
+    }
+
+    static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    void stop() {
+        CURRENT.remove();
+    }
+
+    public static Section section(Category category) {
+        RequestTiming timing = CURRENT.get();
+        return timing == null ? null : new Section(timing, category);
+    }
+
+    long nanos(Category category) {
+        return exclusiveNanos[category.ordinal()];
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Time not attributed to any category: controller, service logic, framework.
+     */
+    long unattributedNanos(long totalNanos) {
+        return Math.max(totalNanos - recordedNanos, 0);
+    }
+
+    public static final class Section implements AutoCloseable {
+
+        private final RequestTiming timing;
+        private final Category category;
+        private final long startedAt = System.nanoTime();
+        private final long recordedAtStart;
+
+        private Section(RequestTiming timing, Category category) {
+            this.timing = timing;
+            this.category = category;
+            this.recordedAtStart = timing.recordedNanos;
+        }
+
+        @Override
+        public void close() {
+            long nested = timing.recordedNanos - recordedAtStart;
+            long exclusive = Math.max(System.nanoTime() - startedAt - nested, 0);
+            timing.exclusiveNanos[category.ordinal()] += exclusive;
+            timing.recordedNanos += exclusive;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import com.SalesFlowLite.inventory.monitoring.RequestTiming.Category;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adds a Server-Timing header (shown in the browser devtools timing tab):
+ *
+ *   Server-Timing: auth;dur=0.31;desc="JWT authentication", db;dur=4.02;desc="3 statements",
+ *                  ser;dur=0.88;desc="Response serialization", app;dur=1.20, total;dur=6.41
+ *
+ * app is whatever is left after auth, db and ser: controllers, service logic and
+ * framework. Off unless app.server-timing.enabled (set it in the dev/staging
+ * profile); then app.server-timing.sample-rate of requests are timed. Nothing
+ * is buffered: the header is written as the response commits, like
+ * X-Query-Count. A small body commits when serialization flushes it; a body
+ * larger than the response buffer reports ser and total up to its first byte.
+ * Unsampled requests are not wrapped at all.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final String timingAllowOrigin;
+
+    public ServerTimingFilter(@Value("${app.server-timing.enabled:false}") boolean enabled,
+                              @Value("${app.server-timing.sample-rate:1.0}") double sampleRate,
+                              @Value("${app.frontend.origins:http://localhost:5173}") List<String> frontendOrigins) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.timingAllowOrigin = String.join(", ", frontendOrigins);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // WebSocket upgrades get the container's own response
+        return !enabled || request.getRequestURI().startsWith("/ws/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = RequestTiming.start();
+        try (QueryCounter.Scope queries = QueryCounter.open()) {
+            chain.doFilter(request, new TimingHeaderResponse(response, timing, queries));
+            if (!response.isCommitted()) {
+                setHeaders(response, timing, queries);
+            }
+        } finally {
+            timing.stop();
+        }
+    }
+
+    private void setHeaders(HttpServletResponse response, RequestTiming timing, QueryCounter.Scope queries) {
+        response.setHeader(HEADER, header(timing, queries.count()));
+        // Lets the frontend origins read the entries through the Resource Timing API
+        response.setHeader("Timing-Allow-Origin", timingAllowOrigin);
+    }
+
+    private static String header(RequestTiming timing, long statements) {
+        long total = timing.elapsedNanos();
+        return entry(Category.AUTH.metric, timing.nanos(Category.AUTH), Category.AUTH.description)
+                + ", " + entry(Category.DB.metric, timing.nanos(Category.DB), statements + " statements")
+                + ", " + entry(Category.SER.metric, timing.nanos(Category.SER), Category.SER.description)
+                + ", " + entry("app", timing.unattributedNanos(total), null)
+                + ", " + entry("total", total, null);
+    }
+
+    private static String entry(String metric, long nanos, String description) {
+        String entry = String.format(Locale.ROOT, "%s;dur=%.2f", metric, nanos / 1_000_000.0);
+        return description == null ? entry : entry + ";desc=\"" + description + "\"";
+    }
+
+    // Writes the timings so far into the headers right before the first byte goes out
+    private final class TimingHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+        private final QueryCounter.Scope queries;
+
+        TimingHeaderResponse(HttpServletResponse response, RequestTiming timing, QueryCounter.Scope queries) {
+            super(response);
+            this.timing = timing;
+            this.queries = queries;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeaders((HttpServletResponse) getResponse(), timing, queries);
+        }
+    }
+}
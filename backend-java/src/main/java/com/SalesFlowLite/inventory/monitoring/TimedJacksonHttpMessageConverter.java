@@ -0,0 +1,28 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import com.SalesFlowLite.inventory.monitoring.RequestTiming.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that reports response writing as ser time to {@link RequestTiming}.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        try (RequestTiming.Section ignored = RequestTiming.section(Category.SER)) {
+            super.writeInternal(object, type, outputMessage);
+        }
+    }
+}
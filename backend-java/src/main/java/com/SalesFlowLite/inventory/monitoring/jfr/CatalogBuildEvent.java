@@ -0,0 +1,34 @@
+package com.SalesFlowLite.inventory.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * Catalog delta assembled for a device download (/sync/download). A cursor of
+ * 0 is a full rebuild of the device's catalog.
+ */
+@Name("salesflow.CatalogBuild")
+@Label("Catalog Build")
+@Category({"SalesFlow", "Sync"})
+@Description("Changed products and sales collected for a device download")
+@StackTrace(false)
+public class CatalogBuildEvent extends Event {
+
+    @Label("Since")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    public long since;
+
+    @Label("Full Rebuild")
+    public boolean full;
+
+    @Label("Products")
+    public int products;
+
+    @Label("Sales")
+    public int sales;
+}
@@ -0,0 +1,32 @@
+package com.SalesFlowLite.inventory.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One checkout, online (/sales) or replayed from a device (/sync/upload).
+ * Duration is the event's own begin → commit span.
+ */
+@Name("salesflow.Checkout")
+@Label("Checkout")
+@Category({"SalesFlow", "Sales"})
+@Description("Sale recorded through the checkout path")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Items")
+    public int itemCount;
+
+    @Label("Total Amount")
+    public double totalAmount;
+
+    @Label("Outcome")
+    public String outcome;
+}
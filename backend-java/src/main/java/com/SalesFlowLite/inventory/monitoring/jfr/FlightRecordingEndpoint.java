@@ -0,0 +1,199 @@
+package com.SalesFlowLite.inventory.monitoring.jfr;
+
+import com.SalesFlowLite.inventory.model.dto.monitoring.FlightRecordingStatus;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * On-demand JDK Flight Recorder recording, for profiling an incident in place.
+ *
+ *   POST   /actuator/jfr  {"durationSeconds": 300, "settings": "profile"}  – start
+ *   GET    /actuator/jfr                                                   – status
+ *   DELETE /actuator/jfr                                                   – stop early
+ *   GET    /actuator/jfr/{file}.jfr                                        – download
+ *
+ * One recording at a time, bounded three ways: it stops by itself after
+ * app.jfr.max-duration-seconds, and the on-disk buffer is capped by
+ * app.jfr.max-size-mb (oldest chunks dropped first). Downloading while it is
+ * still running returns a snapshot of what has been recorded so far.
+ *
+ * Besides the JVM's own events the file carries the salesflow.* domain events
+ * (checkout, sync upload, catalog build, token verification). Admin only – see
+ * SecurityConfig; the endpoint also has to be in management.endpoints.web.exposure.include.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final Path directory;
+
+    private Recording recording;
+    private String settings;
+    private Instant startedAt;
+    private Path file;
+
+    public FlightRecordingEndpoint(@Value("${app.jfr.max-duration-seconds:900}") long maxDurationSeconds,
+                                   @Value("${app.jfr.max-size-mb:256}") long maxSizeMb,
+                                   @Value("${app.jfr.directory:${java.io.tmpdir}}") String directory) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.directory = Paths.get(directory);
+    }
+
+    // =========================================================
+    // OPERATIONS
+    // =========================================================
+
+    @ReadOperation
+    public synchronized FlightRecordingStatus status() {
+        return describe();
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<FlightRecordingStatus> start(@Nullable Long durationSeconds,
+                                                                        @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(), 409); // one recording at a time
+        }
+        String name = settings != null && !settings.isBlank() ? settings : "default";
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        Duration duration = durationSeconds != null && durationSeconds > 0
+                ? Duration.ofSeconds(Math.min(durationSeconds, maxDuration.getSeconds()))
+                : maxDuration;
+
+        discard();
+        try {
+            Instant now = Instant.now();
+            Path destination = directory.resolve("salesflow-" + FILE_TIME.format(now) + ".jfr");
+            Recording fresh = new Recording(configuration);
+            fresh.setName("salesflow-on-demand");
+            fresh.setToDisk(true);
+            fresh.setMaxSize(maxSizeBytes);
+            fresh.setDuration(duration);
+            fresh.setDestination(destination);
+            fresh.start();
+
+            this.recording = fresh;
+            this.settings = name;
+            this.startedAt = now;
+            this.file = destination;
+        } catch (IOException e) {
+            log.warn("Could not start JFR recording: {}", e.getMessage());
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        log.info("JFR recording started ({} settings, stops after {}s)", name, duration.getSeconds());
+        return new WebEndpointResponse<>(describe(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized FlightRecordingStatus stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            // Writes the destination file
+            recording.stop();
+            log.info("JFR recording stopped, {} bytes", sizeOf(file));
+        }
+        return describe();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String name) {
+        if (recording == null || file == null || !file.getFileName().toString().equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.dump(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not dump JFR recording: {}", e.getMessage());
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+        return Files.exists(file)
+                ? new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK)
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        discard();
+    }
+
+    // =========================================================
+    // INTERNALS
+    // =========================================================
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.debug("Could not delete {}: {}", file, e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private FlightRecordingStatus describe() {
+        if (recording == null) {
+            return FlightRecordingStatus.builder().state("NONE").build();
+        }
+        boolean running = recording.getState() == RecordingState.RUNNING;
+        return FlightRecordingStatus.builder()
+                .state(running ? "RUNNING" : "STOPPED")
+                .settings(settings)
+                .startedAt(startedAt.toString())
+                .stopsAt(running ? startedAt.plus(recording.getDuration()).toString() : null)
+                .maxSizeBytes(maxSizeBytes)
+                .sizeBytes(running ? recording.getSize() : sizeOf(file))
+                .download("/actuator/jfr/" + file.getFileName())
+                .build();
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.exists(path) ? Files.size(path) : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+}
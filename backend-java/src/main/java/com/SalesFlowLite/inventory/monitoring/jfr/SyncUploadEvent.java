@@ -0,0 +1,33 @@
+package com.SalesFlowLite.inventory.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One offline batch uploaded by a device. The individual sales show up as
+ * nested {@link CheckoutEvent}s on the same thread.
+ */
+@Name("salesflow.SyncUpload")
+@Label("Sync Upload")
+@Category({"SalesFlow", "Sync"})
+@Description("Offline sales batch replayed from a device")
+@StackTrace(false)
+public class SyncUploadEvent extends Event {
+
+    @Label("Device")
+    public String deviceId;
+
+    @Label("Batch Size")
+    public int batchSize;
+
+    @Label("Synced")
+    public int synced;
+
+    @Label("Conflicts")
+    @Description("Sales that failed or hit a stock conflict")
+    public int conflicts;
+}
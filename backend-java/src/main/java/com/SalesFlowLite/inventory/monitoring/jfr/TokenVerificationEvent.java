@@ -0,0 +1,27 @@
+package com.SalesFlowLite.inventory.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Access-token verification. Cache hits skip the signature check, so a
+ * recording with many slow misses points at the signing algorithm or at
+ * clients presenting a fresh token on every request.
+ */
+@Name("salesflow.TokenVerification")
+@Label("Token Verification")
+@Category({"SalesFlow", "Auth"})
+@Description("JWT access token verified for a request")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+}
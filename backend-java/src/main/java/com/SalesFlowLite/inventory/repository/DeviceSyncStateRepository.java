@@ -0,0 +1,28 @@
+package com.SalesFlowLite.inventory.repository;
+
+import com.SalesFlowLite.inventory.model.entity.DeviceSyncState;
+import com.SalesFlowLite.inventory.model.entity.DeviceSyncStateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface DeviceSyncStateRepository extends JpaRepository<DeviceSyncState, DeviceSyncStateId> {
+
+    /**
+     * Devices whose acknowledged cursor is older than the given one – oldest first –
+     * with the size and age of their pending catalog delta, in one statement:
+     * [user_id, device_id, last_ack_cursor, last_upload_watermark, last_seen_at,
+     * pending_products, oldest_pending]. Backed by idx_device_sync_state_ack_cursor
+     * and, per device, an index-only range on idx_products_last_updated.
+     */
+    @Query(value = "SELECT d.user_id, d.device_id, d.last_ack_cursor, d.last_upload_watermark, d.last_seen_at, " +
+            "p.pending, p.oldest " +
+            "FROM device_sync_state d CROSS JOIN LATERAL (" +
+            "SELECT COUNT(*) AS pending, MIN(pr.last_updated) AS oldest " +
+            "FROM products pr WHERE pr.last_updated > d.last_ack_cursor) p " +
+            "WHERE d.last_ack_cursor < :cursor " +
+            "ORDER BY d.last_ack_cursor ASC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findLaggingDevices(@Param("cursor") long cursor, @Param("limit") int limit);
+}
@@ -1,7 +1,9 @@
 package com.SalesFlowLite.inventory.repository;
 
 import com.SalesFlowLite.inventory.model.entity.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -14,6 +16,15 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     Optional<Product> findByName(String name);
 
+    // SELECT ... FOR UPDATE – @Lock only takes effect on repository methods
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.sku = :sku")
+    Optional<Product> findBySkuForUpdate(@Param("sku") String sku);
+
     /**
      * Finds products where current stock is below the product's own low-stock threshold.
      * Why custom @Query? JPA derived queries can't compare two fields on the same entity easily.
@@ -27,4 +38,14 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     @Query("SELECT p FROM Product p WHERE p.lastUpdated > :timestamp")
     List<Product> findByLastUpdatedGreaterThan(@Param("timestamp") Long timestamp);
+
+    @Query("SELECT p FROM Product p WHERE p.lastUpdated > :since AND p.lastUpdated <= :until")
+    List<Product> findByLastUpdatedBetween(@Param("since") Long since, @Param("until") Long until);
+
+    /**
+     * Newest change at or before the given time – a device acknowledged below it has
+     * been missing that change since then. Index-only on idx_products_last_updated.
+     */
+    @Query("SELECT MAX(p.lastUpdated) FROM Product p WHERE p.lastUpdated <= :timestamp")
+    Long findMaxLastUpdatedAtOrBefore(@Param("timestamp") Long timestamp);
 }
\ No newline at end of file
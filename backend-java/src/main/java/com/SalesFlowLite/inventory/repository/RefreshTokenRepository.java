@@ -1,17 +1,39 @@
 package com.SalesFlowLite.inventory.repository;
 
 import com.SalesFlowLite.inventory.model.entity.RefreshToken;
-import com.SalesFlowLite.inventory.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.Instant;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
 
-    List<RefreshToken> findAllByUserAndRevokedFalse(User user);
+    /**
+     * One DELETE statement, instead of the select-then-delete-per-row a
+     * derived deleteAllByUser performs.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
 
-    void deleteAllByUser(User user);
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Deletes at most {@code limit} expired rows – a range on idx_refresh_tokens_expires_at.
+     * Bounded so the purge job never holds long locks on refresh_tokens.
+     * Revoked tokens need no purge: revocation deletes them.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :limit)", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
 }
@@ -1,7 +1,9 @@
 package com.SalesFlowLite.inventory.repository;
 
+import com.SalesFlowLite.inventory.model.dto.SaleLineView;
 import com.SalesFlowLite.inventory.model.entity.Sale;
 import com.SalesFlowLite.inventory.model.entity.SaleItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
@@ -23,9 +26,41 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     @Query("SELECT s FROM Sale s ORDER BY s.saleDate DESC")
     List<Sale> findRecentSales();
 
-    @Query("SELECT si FROM SaleItem si JOIN si.sale s WHERE si.product.id = :productId AND s.saleDate >= :startDate")
+    // Items and their products in one statement instead of one query per sale
+    @Query("SELECT DISTINCT s FROM Sale s LEFT JOIN FETCH s.items i LEFT JOIN FETCH i.product")
+    List<Sale> findAllWithItems();
+
+    // Sale and product fetched in the same statement (both are eager to-ones)
+    @Query("SELECT si FROM SaleItem si JOIN FETCH si.sale s JOIN FETCH si.product WHERE si.product.id = :productId AND s.saleDate >= :startDate")
     List<SaleItem> findSaleItemsByProductAndDate(@Param("productId") Long productId, @Param("startDate") LocalDateTime startDate);
 
+    /**
+     * Sync delta: lines of sales changed after the cursor and up to the commit-safe
+     * bound, in cursor order, one page.
+     * Range scan on idx_sales_last_updated_id; si.product.id reads the FK column without a join.
+     */
+    @Query("SELECT new com.SalesFlowLite.inventory.model.dto.SaleLineView(" +
+            "s.id, s.lastUpdated, s.saleDate, s.totalAmount, si.product.id, si.productName, si.productSku, " +
+            "si.quantity, si.unitPrice, si.subtotal) " +
+            "FROM SaleItem si JOIN si.sale s " +
+            "WHERE s.lastUpdated > :since AND s.lastUpdated <= :until " +
+            "ORDER BY s.lastUpdated ASC, s.id ASC, si.id ASC")
+    List<SaleLineView> findSaleLinesUpdatedBetween(@Param("since") Long since, @Param("until") Long until, Pageable page);
+
+    /**
+     * Every line of the sales changed in one millisecond – for a delta page that
+     * would otherwise have to stop inside it.
+     */
+    @Query("SELECT new com.SalesFlowLite.inventory.model.dto.SaleLineView(" +
+            "s.id, s.lastUpdated, s.saleDate, s.totalAmount, si.product.id, si.productName, si.productSku, " +
+            "si.quantity, si.unitPrice, si.subtotal) " +
+            "FROM SaleItem si JOIN si.sale s " +
+            "WHERE s.lastUpdated = :lastUpdated " +
+            "ORDER BY s.id ASC, si.id ASC")
+    List<SaleLineView> findSaleLinesUpdatedAt(@Param("lastUpdated") Long lastUpdated);
+
+    Optional<Sale> findByUserIdAndClientSaleId(Long userId, String clientSaleId);
+
     @Query("SELECT COUNT(s) FROM Sale s")
     long countTotalSales();
 
@@ -35,6 +70,51 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
     @Query("SELECT s FROM Sale s ORDER BY s.saleDate DESC")
     List<Sale> findTop10ByOrderBySaleDateDesc();
 
+    /**
+     * Revenue per date_trunc bucket as [bucket start epoch seconds, revenue, sale count].
+     * sale_date is server wall-clock time: it is read in storageZone and truncated in zone
+     * (DST-correct). The bare range on sale_date keeps idx_sales_sale_date usable.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(EPOCH FROM date_trunc(:field, s.sale_date AT TIME ZONE :storageZone, :zone)) AS BIGINT), " +
+            "COALESCE(SUM(s.total_amount), 0), COUNT(*) " +
+            "FROM sales s " +
+            "WHERE s.sale_date >= :from AND s.sale_date < :to " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<Object[]> sumRevenueByBucket(@Param("field") String field,
+                                      @Param("storageZone") String storageZone,
+                                      @Param("zone") String zone,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
     @Query("SELECT si.product.id, si.product.name, SUM(si.quantity) FROM SaleItem si GROUP BY si.product.id, si.product.name ORDER BY SUM(si.quantity) DESC")
     List<Object[]> findTopSellingProducts();
-}
\ No newline at end of file
+
+    /**
+     * Shop-local hour of day → [hour, revenue, sale count, units] for sale_date in [from, to).
+     * Units come from idx_sale_items_sale_id, one probe per sale.
+     */
+    @Query(value = "SELECT CAST(EXTRACT(HOUR FROM (s.sale_date AT TIME ZONE :storageZone) AT TIME ZONE :zone) AS INTEGER), " +
+            "COALESCE(SUM(s.total_amount), 0), COUNT(*), " +
+            "COALESCE(SUM((SELECT SUM(si.quantity) FROM sale_items si WHERE si.sale_id = s.id)), 0) " +
+            "FROM sales s " +
+            "WHERE s.sale_date >= :from AND s.sale_date < :to " +
+            "GROUP BY 1", nativeQuery = true)
+    List<Object[]> sumSalesByHour(@Param("storageZone") String storageZone,
+                                  @Param("zone") String zone,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Same as sumSalesByHour, one row per sale: [id, hour, total, units]. For short
+     * recent ranges that must be merged with in-memory data by sale id.
+     */
+    @Query(value = "SELECT s.id, CAST(EXTRACT(HOUR FROM (s.sale_date AT TIME ZONE :storageZone) AT TIME ZONE :zone) AS INTEGER), " +
+            "s.total_amount, " +
+            "(SELECT COALESCE(SUM(si.quantity), 0) FROM sale_items si WHERE si.sale_id = s.id) " +
+            "FROM sales s " +
+            "WHERE s.sale_date >= :from AND s.sale_date < :to", nativeQuery = true)
+    List<Object[]> listSalesByHour(@Param("storageZone") String storageZone,
+                                   @Param("zone") String zone,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,11 @@
+package com.SalesFlowLite.inventory.repository;
+
+import com.SalesFlowLite.inventory.model.entity.StockReconciliation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface StockReconciliationRepository extends JpaRepository<StockReconciliation, Long> {
+
+    List<StockReconciliation> findByResolvedOrderByDetectedAtDesc(boolean resolved);
+}
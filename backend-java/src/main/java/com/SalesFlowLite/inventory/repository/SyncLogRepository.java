@@ -2,5 +2,20 @@ package com.SalesFlowLite.inventory.repository;
 
 import com.SalesFlowLite.inventory.model.entity.SyncLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface SyncLogRepository extends JpaRepository<SyncLog, Long> {}
\ No newline at end of file
+public interface SyncLogRepository extends JpaRepository<SyncLog, Long> {
+
+    /**
+     * Deletes at most {@code limit} log rows older than the cutoff (epoch milli).
+     * Bounded so retention runs never hold long locks on sync_logs.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM sync_logs WHERE id IN " +
+            "(SELECT id FROM sync_logs WHERE sync_timestamp < :cutoff LIMIT :limit)", nativeQuery = true)
+    int deleteOlderThan(@Param("cutoff") Long cutoff, @Param("limit") int limit);
+}
@@ -3,6 +3,9 @@ package com.SalesFlowLite.inventory.repository;
 
 import com.SalesFlowLite.inventory.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+
+    // [userId, securityVersion] for users whose tokens have ever been invalidated
+    @Query("SELECT u.id, u.securityVersion FROM User u WHERE u.securityVersion > 0")
+    List<Object[]> findBumpedSecurityVersions();
 }
\ No newline at end of file
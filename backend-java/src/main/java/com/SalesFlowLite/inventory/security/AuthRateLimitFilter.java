@@ -0,0 +1,174 @@
+package com.SalesFlowLite.inventory.security;
+
+import com.SalesFlowLite.inventory.exception.ApiError;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login, register and refresh before they reach BCrypt or the
+ * users table. Two independent GCRA buckets per request: one per client IP,
+ * one per phone number (login/register only). Over the limit → 429 with
+ * Retry-After. The hot path is a map lookup and a CAS – nothing is shared
+ * between keys, so normal traffic never contends. Login and register bodies
+ * are read here to find the phone number; one over 16 KB gets a 413.
+ */
+@Slf4j
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/api/v1/auth/login",
+            "/api/v1/auth/register",
+            "/api/v1/auth/refresh"
+    );
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final GcraRateLimiter ipLimiter;
+    private final GcraRateLimiter phoneLimiter;
+    private final Counter ipRejected;
+    private final Counter phoneRejected;
+
+    @Value("${app.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.security.rate-limit.ip.per-minute:60}") int ipPerMinute,
+                               @Value("${app.security.rate-limit.ip.burst:20}") int ipBurst,
+                               @Value("${app.security.rate-limit.phone.per-minute:10}") int phonePerMinute,
+                               @Value("${app.security.rate-limit.phone.burst:5}") int phoneBurst,
+                               @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys) {
+        this.objectMapper = objectMapper;
+        this.ipLimiter = new GcraRateLimiter(ipPerMinute, ipBurst, maxKeys);
+        this.phoneLimiter = new GcraRateLimiter(phonePerMinute, phoneBurst, maxKeys);
+
+        this.ipRejected = Counter.builder("salesflow.auth.rate_limited")
+                .description("Auth requests rejected with 429")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.phoneRejected = Counter.builder("salesflow.auth.rate_limited")
+                .description("Auth requests rejected with 429")
+                .tag("key", "phone")
+                .register(meterRegistry);
+        Gauge.builder("salesflow.auth.rate_limit.keys", ipLimiter, GcraRateLimiter::size)
+                .tag("key", "ip").register(meterRegistry);
+        Gauge.builder("salesflow.auth.rate_limit.keys", phoneLimiter, GcraRateLimiter::size)
+                .tag("key", "phone").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        // RemoteAddr is the client resolved from X-Forwarded-For by Tomcat's RemoteIpValve
+        // (server.forward-headers-strategy=native, trusted internal proxies only)
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        HttpServletRequest chainRequest = request;
+        if (!request.getServletPath().endsWith("/refresh")) {
+            if (request.getContentLengthLong() > MAX_BODY_BYTES) {
+                rejectTooLarge(response);
+                return;
+            }
+            // Chunked bodies have no Content-Length; the read itself stops past the limit
+            CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, MAX_BODY_BYTES);
+            if (cached.isTooLarge()) {
+                rejectTooLarge(response);
+                return;
+            }
+            chainRequest = cached;
+
+            String phone = extractPhoneNumber(cached.getBody());
+            if (phone != null) {
+                waitNanos = phoneLimiter.tryAcquire(phone, now);
+                if (waitNanos > 0) {
+                    phoneRejected.increment();
+                    reject(response, waitNanos);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(chainRequest, response);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int removed = ipLimiter.sweep(now) + phoneLimiter.sweep(now);
+        if (removed > 0) {
+            log.debug("Rate limiter sweep dropped {} idle buckets", removed);
+        }
+    }
+
+    private String extractPhoneNumber(byte[] body) {
+        if (body.length == 0) return null;
+        try {
+            JsonNode phone = objectMapper.readTree(body).get("phoneNumber");
+            return phone != null && phone.isTextual() ? phone.asText().trim() : null;
+        } catch (IOException e) {
+            return null; // malformed body – let the controller report it
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(response, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED",
+                "Too many authentication attempts, retry in " + retryAfterSeconds + "s");
+    }
+
+    private void rejectTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE",
+                "Request body exceeds " + MAX_BODY_BYTES + " bytes");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message) throws IOException {
+        ApiError error = ApiError.builder()
+                .status(status.value())
+                .code(code)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
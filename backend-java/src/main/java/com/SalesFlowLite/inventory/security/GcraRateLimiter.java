@@ -0,0 +1,75 @@
+package com.SalesFlowLite.inventory.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in GCRA form: each key is a single AtomicLong holding its
+ * "theoretical arrival time" (TAT). A request is allowed when TAT is no more
+ * than the burst tolerance ahead of now, and then pushes TAT forward by one
+ * emission interval – one CAS, no locks, no refill thread.
+ *
+ * A bucket whose TAT is in the past is indistinguishable from a fresh one, so
+ * the sweep can drop it. The map never grows past maxKeys: when it is full of
+ * live buckets, unseen keys are evaluated against a throwaway bucket (allowed
+ * once) instead of being stored – degraded limiting, but bounded memory.
+ */
+public class GcraRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerMinute sustained rate
+     * @param burst            requests allowed back-to-back on an idle key
+     * @param maxKeys          upper bound on tracked keys
+     */
+    public GcraRateLimiter(int permitsPerMinute, int burst, int maxKeys) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, permitsPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return 0 if the request is allowed, otherwise nanoseconds until it would be
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) {
+                sweep(nowNanos);
+            }
+            if (buckets.size() >= maxKeys) {
+                return 0; // full of live buckets – see class comment
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long waitNanos = next - nowNanos - burstToleranceNanos - emissionIntervalNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have fully refilled.
+     */
+    public int sweep(long nowNanos) {
+        int before = buckets.size();
+        buckets.entrySet().removeIf(e -> e.getValue().get() <= nowNanos);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -2,12 +2,17 @@
 
 package com.SalesFlowLite.inventory.security;
 
+import com.SalesFlowLite.inventory.monitoring.RequestTiming;
+import com.SalesFlowLite.inventory.monitoring.RequestTiming.Category;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +21,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityVersionRegistry securityVersions;
+
+    @Value("${app.jwt.stateless-auth:true}")
+    private boolean statelessAuth;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -46,15 +56,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
+        try (RequestTiming.Section ignored = RequestTiming.section(Category.AUTH)) {
             final String token = authHeader.substring(7);
-            final String phoneNumber = jwtService.extractPhoneNumber(token);
+            // Single verification (signature + expiry); throws on an invalid token
+            final Claims claims = jwtService.verifyAccessToken(token);
+            final String phoneNumber = claims.getSubject();
 
             if (phoneNumber != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(phoneNumber);
-                if (jwtService.isAccessTokenValid(token, userDetails.getUsername())) {
-                    var authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
+                UsernamePasswordAuthenticationToken authToken =
+                        statelessAuth && claims.get("uid") != null
+                                ? fromClaims(claims)
+                                : fromUserDetails(phoneNumber);
+                if (authToken != null) {
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
@@ -65,4 +78,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Stateless: everything comes from the verified token, no users-table round trip
+    private UsernamePasswordAuthenticationToken fromClaims(Claims claims) {
+        Long userId = ((Number) claims.get("uid")).longValue();
+        Number sv = claims.get("sv", Number.class);
+        if (!securityVersions.isCurrent(userId, sv != null ? sv.intValue() : 0)) {
+            return null; // password or role changed since this token was issued
+        }
+
+        String role = claims.get("role", String.class);
+        JwtPrincipal principal = new JwtPrincipal(
+                userId, claims.getSubject(), role, claims.get("username", String.class));
+        return new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    // Legacy tokens without "uid", or stateless mode switched off
+    private UsernamePasswordAuthenticationToken fromUserDetails(String phoneNumber) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(phoneNumber);
+        if (!phoneNumber.equals(userDetails.getUsername())) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.SalesFlowLite.inventory.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated caller built from verified JWT claims alone (stateless mode).
+ * getName() is the phone number, so Authentication.getName() behaves exactly
+ * as it does with the UserDetails principal.
+ */
+public record JwtPrincipal(
+        Long userId,
+        String phoneNumber,
+        String role,
+        String username
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return phoneNumber;
+    }
+}
@@ -3,19 +3,27 @@ package com.SalesFlowLite.inventory.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import com.SalesFlowLite.inventory.model.entity.User;
+import com.SalesFlowLite.inventory.monitoring.jfr.TokenVerificationEvent;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
 import java.time.Instant;
 import java.util.Date;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final JwtSigningKeys signingKeys;
+
     @Value("${app.jwt.secret}")
     private String secret;
 
@@ -25,29 +33,96 @@ public class JwtService {
     @Value("${app.jwt.refresh-token-expiration-ms:1209600000}")
     private long refreshTokenExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // ISO-8601 instant of the switch to asymmetric signing: HS256 tokens issued before
+    // it are still verified, so they run out within one token lifetime. Empty = none
+    @Value("${app.jwt.legacy-hs256-issued-before:}")
+    private String legacyHs256IssuedBefore;
+
+    // Built once: key derivation and parser construction are not free per request
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache verifiedTokens;
+    private Instant legacyHs256Cutover;
+
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.legacyHs256Cutover = legacyHs256IssuedBefore == null || legacyHs256IssuedBefore.isBlank()
+                ? null
+                : Instant.parse(legacyHs256IssuedBefore.trim());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header, claims);
+                    }
+                })
+                .build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
     }
 
-    public String generateAccessToken(String phoneNumber, String role, String username) {
-        return Jwts.builder()
-                .setSubject(phoneNumber)
+    // HS256 → shared secret; ES256/RS256 → public key named by the "kid" header
+    private Key resolveVerificationKey(JwsHeader<?> header, Claims claims) {
+        if (SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+            if (!signingKeys.isAsymmetric() || isLegacyHs256(claims)) {
+                return signingKey;
+            }
+            throw new UnsupportedJwtException("HS256 tokens are no longer accepted");
+        }
+        PublicKey key = signingKeys.publicKey(header.getKeyId());
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + header.getKeyId());
+        }
+        return key;
+    }
+
+    // Anyone holding the shared secret can mint HS256 tokens, so only ones dated before the cutover pass
+    private boolean isLegacyHs256(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        return legacyHs256Cutover != null
+                && issuedAt != null
+                && issuedAt.toInstant().isBefore(legacyHs256Cutover)
+                && legacyHs256Cutover.plusMillis(accessTokenExpirationMs).isAfter(Instant.now());
+    }
+
+    private JwtBuilder signed(JwtBuilder builder) {
+        if (!signingKeys.isAsymmetric()) {
+            return builder.signWith(signingKey, SignatureAlgorithm.HS256);
+        }
+        JwtSigningKeys.SigningKey key = signingKeys.current();
+        return builder
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
+                .signWith(key.privateKey(), key.algorithm());
+    }
+
+    /**
+     * Access token carrying everything the stateless filter needs:
+     * user id ("uid") and security version ("sv") on top of role and username.
+     */
+    public String generateAccessToken(User user) {
+        return signed(Jwts.builder()
+                .setSubject(user.getPhoneNumber())
                 .setIssuer("salesflow-app")
-                .claim("role", role)
-                .claim("username", username)
+                .claim("role", user.getRole().name())
+                .claim("username", user.getUsername())
+                .claim("uid", user.getId())
+                .claim("sv", user.getSecurityVersion())
                 .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpirationMs)))
                 .compact();
     }
 
-    public String generateRefreshToken(User user) {
-        return Jwts.builder()
-                .setSubject(user.getPhoneNumber())
+    public String generateAccessToken(String phoneNumber, String role, String username) {
+        return signed(Jwts.builder()
+                .setSubject(phoneNumber)
                 .setIssuer("salesflow-app")
+                .claim("role", role)
+                .claim("username", username)
                 .setIssuedAt(Date.from(Instant.now()))
-                .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpirationMs)))
                 .compact();
     }
 
@@ -55,6 +130,33 @@ public class JwtService {
         return Instant.now().plusMillis(refreshTokenExpirationMs).toString();
     }
 
+    /**
+     * Verifies signature and expiry once and returns the claims.
+     * Repeat presentations of the same token are served from the verified cache
+     * until the token's own expiry.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verifyAccessToken(String token) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        try {
+            long now = System.currentTimeMillis();
+            Claims cached = verifiedTokens.get(token, now);
+            if (cached != null) {
+                event.cacheHit = true;
+                event.valid = true;
+                return cached;
+            }
+            Claims claims = extractClaims(token);
+            verifiedTokens.put(token, claims, now);
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
+    }
+
     public String extractPhoneNumber(String token) {
         return extractClaims(token).getSubject();
     }
@@ -69,17 +171,9 @@ public class JwtService {
 
     public boolean isAccessTokenValid(String token, String expectedPhoneNumber) {
         try {
-            String phone = extractPhoneNumber(token);
-            return phone != null && phone.equals(expectedPhoneNumber) && !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    public boolean isRefreshTokenValid(String token) {
-        try {
-            Claims claims = extractClaims(token);
-            return claims.getExpiration().after(new Date());
+            String phone = verifyAccessToken(token).getSubject();
+            // parseClaimsJws already rejects expired tokens, no second parse needed
+            return phone != null && phone.equals(expectedPhoneNumber);
         } catch (Exception e) {
             return false;
         }
@@ -90,11 +184,7 @@ public class JwtService {
     }
 
     private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public long getRefreshTokenExpirationMs() {
@@ -0,0 +1,71 @@
+package com.SalesFlowLite.inventory.security;
+
+import com.SalesFlowLite.inventory.event.UserSecurityChangedEvent;
+import com.SalesFlowLite.inventory.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * userId → current security version, for users whose version is above 0.
+ *
+ * Most users never change password, so the map stays tiny: a missing entry
+ * means version 0. Versions only move forward (merge with max), which makes
+ * late or duplicate events harmless. Other instances' changes are picked up
+ * by the periodic reload; until then a token is accepted at most
+ * app.security.version-refresh-ms longer on this node.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.version-refresh-ms:60000}",
+               initialDelayString = "${app.security.version-refresh-ms:60000}")
+    public void reload() {
+        try {
+            for (Object[] row : userRepository.findBumpedSecurityVersions()) {
+                update(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+            }
+        } catch (Exception e) {
+            log.warn("Could not reload user security versions: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        update(event.userId(), event.securityVersion());
+    }
+
+    /**
+     * @return true if a token issued with tokenVersion is still acceptable for the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    public int currentVersion(Long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    private void update(Long userId, int version) {
+        if (userId == null || version <= 0) return;
+        versions.merge(userId, version, Math::max);
+    }
+}
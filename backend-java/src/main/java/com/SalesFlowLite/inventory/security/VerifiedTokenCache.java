@@ -0,0 +1,78 @@
+package com.SalesFlowLite.inventory.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded map of SHA-256(token) → verified claims.
+ *
+ * Only tokens whose signature has already been checked are stored, and each
+ * entry is dropped once its own "exp" has passed, so a hit never extends the
+ * lifetime of a token. Keys are digests rather than raw tokens so a heap dump
+ * does not hand out usable bearer tokens.
+ */
+class VerifiedTokenCache {
+
+    private record Entry(Claims claims, long expiresAtMs) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Claims get(String token, long nowMs) {
+        if (maxEntries <= 0) return null;
+
+        String key = digest(token);
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAtMs() <= nowMs) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    void put(String token, Claims claims, long nowMs) {
+        if (maxEntries <= 0 || claims.getExpiration() == null) return;
+
+        if (entries.size() >= maxEntries) {
+            evictExpired(nowMs);
+            // Still full: every cached token is live – start over rather than track LRU order
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(digest(token), new Entry(claims, claims.getExpiration().getTime()));
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long nowMs) {
+        entries.values().removeIf(entry -> entry.expiresAtMs() <= nowMs);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -4,7 +4,6 @@ package com.SalesFlowLite.inventory.service;
 import com.SalesFlowLite.inventory.model.entity.User;
 import com.SalesFlowLite.inventory.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,7 +11,7 @@ import org.springframework.stereotype.Service;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
     // ================================
     // VALIDATE LOGIN CREDENTIALS
@@ -21,9 +20,15 @@ public class AuthService {
         User user = userRepository.findByPhoneNumber(phoneNumber)
                 .orElseThrow(() -> new RuntimeException("Invalid phone number or password"));
 
-        if (!passwordEncoder.matches(rawPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(rawPassword, user.getPassword())) {
             throw new RuntimeException("Invalid phone number or password");
         }
+
+        // Cost factor was raised since this hash was made – upgrade while we have the raw password
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            user = userRepository.save(user);
+        }
         return user;
     }
 
@@ -38,7 +43,7 @@ public class AuthService {
     // ENCODE PASSWORD
     // ================================
     public String encodePassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return passwordHashingService.encode(rawPassword);
     }
 
     // ================================
@@ -0,0 +1,173 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.model.dto.sync.DeviceSyncStatus;
+import com.SalesFlowLite.inventory.model.entity.DeviceSyncState;
+import com.SalesFlowLite.inventory.model.entity.DeviceSyncStateId;
+import com.SalesFlowLite.inventory.repository.DeviceSyncStateRepository;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.repository.SyncLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks what every (user, device) pair has received and uploaded.
+ *
+ * Cursor moves are buffered in memory and merged with max(), then flushed as one
+ * JDBC batch of upserts – a sync request never pays for an extra write.
+ * Merging with GREATEST() on the DB side keeps out-of-order flushes harmless.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeviceSyncStateService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO device_sync_state (user_id, device_id, last_ack_cursor, last_upload_watermark, last_seen_at) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, device_id) DO UPDATE SET " +
+            "last_ack_cursor = GREATEST(device_sync_state.last_ack_cursor, EXCLUDED.last_ack_cursor), " +
+            "last_upload_watermark = GREATEST(device_sync_state.last_upload_watermark, EXCLUDED.last_upload_watermark), " +
+            "last_seen_at = GREATEST(device_sync_state.last_seen_at, EXCLUDED.last_seen_at)";
+
+    private static final int LOG_DELETE_BATCH = 5_000;
+
+    private final DeviceSyncStateRepository deviceSyncStateRepository;
+    private final SyncLogRepository syncLogRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sync.log-retention-days:30}")
+    private int logRetentionDays;
+
+    private final ConcurrentHashMap<DeviceSyncStateId, PendingCursor> pending = new ConcurrentHashMap<>();
+
+    // =====================================================
+    // RECORD (in-memory, merged)
+    // =====================================================
+    public void acknowledge(Long userId, String deviceId, long cursor) {
+        // GREATEST() would keep a cursor from the future for good and hide every change until then
+        record(userId, deviceId, Math.min(cursor, System.currentTimeMillis()), 0L);
+    }
+
+    public void recordUpload(Long userId, String deviceId, long watermark) {
+        record(userId, deviceId, 0L, watermark);
+    }
+
+    public void touch(Long userId, String deviceId) {
+        record(userId, deviceId, 0L, 0L);
+    }
+
+    private void record(Long userId, String deviceId, long ack, long watermark) {
+        if (userId == null || deviceId == null || deviceId.isBlank()) return;
+        pending.merge(new DeviceSyncStateId(userId, deviceId),
+                new PendingCursor(ack, watermark, System.currentTimeMillis()),
+                PendingCursor::max);
+    }
+
+    // =====================================================
+    // READ (buffer first, then DB)
+    // =====================================================
+    public long getAckCursor(Long userId, String deviceId) {
+        if (userId == null || deviceId == null || deviceId.isBlank()) return 0L;
+        DeviceSyncStateId id = new DeviceSyncStateId(userId, deviceId);
+        long stored = deviceSyncStateRepository.findById(id)
+                .map(DeviceSyncState::getLastAckCursor)
+                .orElse(0L);
+        PendingCursor buffered = pending.get(id);
+        return buffered != null ? Math.max(stored, buffered.ackCursor()) : stored;
+    }
+
+    /**
+     * Devices that have been missing a catalog change for longer than maxLag.
+     * An idle device that has everything is not lagging, however old its cursor:
+     * lag is measured from the oldest change it has not acknowledged.
+     */
+    public List<DeviceSyncStatus> getLaggingDevices(Duration maxLag, int limit) {
+        flush();
+        long now = System.currentTimeMillis();
+        Long newestOverdue = productRepository.findMaxLastUpdatedAtOrBefore(now - maxLag.toMillis());
+        if (newestOverdue == null) return List.of();
+
+        List<DeviceSyncStatus> result = new ArrayList<>();
+        for (Object[] row : deviceSyncStateRepository.findLaggingDevices(newestOverdue, limit)) {
+            result.add(DeviceSyncStatus.builder()
+                    .userId(((Number) row[0]).longValue())
+                    .deviceId((String) row[1])
+                    .lastAckCursor(((Number) row[2]).longValue())
+                    .lastUploadWatermark(((Number) row[3]).longValue())
+                    .lastSeenAt(((Number) row[4]).longValue())
+                    .lagMs(now - ((Number) row[6]).longValue())
+                    .pendingProducts(((Number) row[5]).longValue())
+                    .build());
+        }
+        return result;
+    }
+
+    // =====================================================
+    // FLUSH (one JDBC batch per interval)
+    // =====================================================
+    @Scheduled(fixedDelayString = "${app.sync.cursor-flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) return;
+
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (DeviceSyncStateId id : pending.keySet()) {
+            PendingCursor cursor = pending.remove(id);
+            if (cursor != null) {
+                batch.add(new Object[]{id.getUserId(), id.getDeviceId(),
+                        cursor.ackCursor(), cursor.uploadWatermark(), cursor.seenAt()});
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        } catch (RuntimeException e) {
+            // Put the batch back so the next run retries it
+            batch.forEach(row -> record((Long) row[0], (String) row[1], (Long) row[2], (Long) row[3]));
+            log.warn("Device sync cursor flush failed ({} rows), will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // =====================================================
+    // SYNC LOG RETENTION
+    // =====================================================
+    @Scheduled(cron = "${app.sync.log-compaction-cron:0 30 3 * * *}")
+    public void compactSyncLogs() {
+        long cutoff = System.currentTimeMillis() - Duration.ofDays(logRetentionDays).toMillis();
+        int deleted;
+        long total = 0;
+        do {
+            deleted = syncLogRepository.deleteOlderThan(cutoff, LOG_DELETE_BATCH);
+            total += deleted;
+        } while (deleted == LOG_DELETE_BATCH);
+
+        if (total > 0) {
+            log.info("Compacted sync_logs: removed {} rows older than {} days", total, logRetentionDays);
+        }
+    }
+
+    private record PendingCursor(long ackCursor, long uploadWatermark, long seenAt) {
+        PendingCursor max(PendingCursor other) {
+            return new PendingCursor(
+                    Math.max(ackCursor, other.ackCursor),
+                    Math.max(uploadWatermark, other.uploadWatermark),
+                    Math.max(seenAt, other.seenAt));
+        }
+    }
+}
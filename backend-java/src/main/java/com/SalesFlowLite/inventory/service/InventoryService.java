@@ -1,5 +1,6 @@
 package com.SalesFlowLite.inventory.service;
 
+import com.SalesFlowLite.inventory.event.CatalogChangedEvent;
 import com.SalesFlowLite.inventory.model.dto.inventory.InventoryAdjustRequest;
 import com.SalesFlowLite.inventory.model.dto.inventory.InventoryRequest;
 import com.SalesFlowLite.inventory.model.dto.inventory.InventoryResponse;
@@ -10,6 +11,7 @@ import com.SalesFlowLite.inventory.repository.InventoryRepository;
 import com.SalesFlowLite.inventory.repository.ProductRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public InventoryResponse createItem(InventoryRequest request) {
@@ -57,27 +60,32 @@ public class InventoryService {
                 });
 
         product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
-        productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(saved));
     }
 
+    @Transactional(readOnly = true)
     public InventoryResponse getItem(Long id) {
         InventoryItem item = inventoryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Item not found with ID: " + id));
         return mapToResponse(item);
     }
 
+    @Transactional(readOnly = true)
     public InventoryResponse getItemBySku(String sku) {
         InventoryItem item = inventoryRepository.findBySku(sku)
                 .orElseThrow(() -> new EntityNotFoundException("Item not found with SKU: " + sku));
         return mapToResponse(item);
     }
 
+    @Transactional(readOnly = true)
     public InventoryResponse getItemByName(String name) {
         InventoryItem item = inventoryRepository.findByName(name)
                 .orElseThrow(() -> new EntityNotFoundException("Item not found with name: " + name));
         return mapToResponse(item);
     }
 
+    @Transactional(readOnly = true)
     public List<InventoryResponse> getAllItems() {
         return inventoryRepository.findAll().stream()
                 .map(this::mapToResponse)
@@ -0,0 +1,153 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.CatalogChangedEvent;
+import com.SalesFlowLite.inventory.model.entity.StockReconciliation;
+import com.SalesFlowLite.inventory.repository.StockReconciliationRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PN-counter ledger for stock moved by offline devices.
+ *
+ * Uploads only add to the (product, device) counter row of the uploading device,
+ * inside the sale's transaction – products rows are never locked on that path.
+ * A scheduled job later folds the net pending amount into
+ * products.stock_quantity. It reads the pending amounts only after locking the
+ * product row, so instances running the job at the same time fold each unit
+ * once. If a fold would push stock below zero, stock is clamped at zero and the
+ * shortfall is flagged in stock_reconciliations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OfflineStockLedgerService {
+
+    private static final String ADD_DECREMENT_SQL =
+            "INSERT INTO offline_stock_counters (product_id, device_id, decrements, increments, folded, updated_at) " +
+            "VALUES (?, ?, ?, 0, 0, ?) " +
+            "ON CONFLICT (product_id, device_id) DO UPDATE SET " +
+            "decrements = offline_stock_counters.decrements + EXCLUDED.decrements, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private static final String PENDING_PRODUCTS_SQL =
+            "SELECT DISTINCT product_id FROM offline_stock_counters " +
+            "WHERE decrements - increments <> folded ORDER BY product_id";
+
+    private static final String PENDING_SQL =
+            "SELECT device_id, decrements - increments - folded AS pending " +
+            "FROM offline_stock_counters WHERE product_id = ? AND decrements - increments <> folded";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockReconciliationRepository stockReconciliationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // =====================================================
+    // RECORD (joins the caller's transaction)
+    // =====================================================
+    public void recordDecrements(Map<Long, Integer> quantitiesByProduct, String counterKey) {
+        if (quantitiesByProduct.isEmpty()) return;
+        if (counterKey == null || counterKey.isBlank()) {
+            throw new IllegalArgumentException("Offline stock counter key is required");
+        }
+        long now = System.currentTimeMillis();
+
+        List<Object[]> batch = new ArrayList<>(quantitiesByProduct.size());
+        quantitiesByProduct.forEach((productId, qty) -> batch.add(new Object[]{productId, counterKey, qty.longValue(), now}));
+        jdbcTemplate.batchUpdate(ADD_DECREMENT_SQL, batch);
+    }
+
+    /**
+     * Counter row owner for an upload: the device, or for older clients that send
+     * no device id the authenticated user – never one row shared by everyone.
+     */
+    public static String counterKey(Long userId, String deviceId) {
+        if (deviceId != null && !deviceId.isBlank()) return deviceId;
+        if (userId == null) throw new IllegalArgumentException("Offline upload needs a device id or a user");
+        return "user:" + userId;
+    }
+
+    // =====================================================
+    // FOLD INTO PRODUCTS (serialised per product row)
+    // =====================================================
+    @Scheduled(fixedDelayString = "${app.sync.stock-fold-interval-ms:10000}")
+    public void foldPendingCounters() {
+        List<Long> productIds = jdbcTemplate.queryForList(PENDING_PRODUCTS_SQL, Long.class);
+
+        for (Long productId : productIds) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> foldProduct(productId));
+            } catch (RuntimeException e) {
+                log.warn("Could not fold offline stock for product {}: {}", productId, e.getMessage());
+            }
+        }
+    }
+
+    private void foldProduct(Long productId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT sku, stock_quantity FROM products WHERE id = ? FOR UPDATE", productId);
+        if (rows.isEmpty()) return;
+
+        // Read under the product lock: another instance's fold has committed its folded += by now
+        List<PendingCounter> counters = jdbcTemplate.query(PENDING_SQL,
+                (rs, i) -> new PendingCounter(rs.getString("device_id"), rs.getLong("pending")), productId);
+        if (counters.isEmpty()) return;
+
+        String sku = (String) rows.get(0).get("sku");
+        Number stockQuantity = (Number) rows.get(0).get("stock_quantity");
+        long stock = stockQuantity != null ? stockQuantity.longValue() : 0L;
+        long pending = counters.stream().mapToLong(PendingCounter::pending).sum();
+
+        // Positive pending = net units sold offline; never take stock below zero
+        long applied = pending > 0 ? Math.min(pending, stock) : pending;
+        long now = System.currentTimeMillis();
+
+        jdbcTemplate.update("UPDATE products SET stock_quantity = COALESCE(stock_quantity, 0) - ?, last_updated = ? WHERE id = ?",
+                applied, now, productId);
+        eventPublisher.publishEvent(new CatalogChangedEvent(productId, now, (int) (stock - applied), false));
+
+        // Fold exactly what was read; uploads racing with us only grow decrements
+        for (PendingCounter counter : counters) {
+            jdbcTemplate.update("UPDATE offline_stock_counters SET folded = folded + ? WHERE product_id = ? AND device_id = ?",
+                    counter.pending(), productId, counter.deviceId());
+        }
+
+        long shortfall = pending - applied;
+        if (shortfall > 0) {
+            stockReconciliationRepository.save(StockReconciliation.builder()
+                    .productId(productId)
+                    .productSku(sku)
+                    .shortfall(shortfall)
+                    .detectedAt(now)
+                    .resolved(false)
+                    .build());
+            log.warn("Offline sales oversold {} by {} units – flagged for reconciliation", sku, shortfall);
+        }
+    }
+
+    // =====================================================
+    // RECONCILIATION (admin)
+    // =====================================================
+    public List<StockReconciliation> getOpenReconciliations() {
+        return stockReconciliationRepository.findByResolvedOrderByDetectedAtDesc(false);
+    }
+
+    public StockReconciliation resolve(Long id) {
+        StockReconciliation reconciliation = stockReconciliationRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Reconciliation not found with ID: " + id));
+        reconciliation.setResolved(true);
+        return stockReconciliationRepository.save(reconciliation);
+    }
+
+    private record PendingCounter(String deviceId, long pending) {}
+}
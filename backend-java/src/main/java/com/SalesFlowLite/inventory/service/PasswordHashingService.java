@@ -0,0 +1,111 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * All BCrypt work goes through here.
+ *
+ * Hashing runs on the small passwordHashExecutor, so a login burst can use at
+ * most pool-size cores; the rest stay free for checkout. The caller waits for
+ * its own hash, but only pool-size + queue-capacity callers can be waiting at
+ * once – anything beyond that is rejected straight away with a 503 instead of
+ * piling up Tomcat threads.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private static final long RETRY_AFTER_SECONDS = 2;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    @Value("${app.security.password-hashing.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+
+        this.encodeTimer = Timer.builder("salesflow.password.hash")
+                .description("Time spent hashing passwords (excludes queue wait)")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("salesflow.password.hash")
+                .description("Time spent hashing passwords (excludes queue wait)")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("salesflow.password.hash.rejected")
+                .description("Hash requests refused because the hashing queue was full or too slow")
+                .register(meterRegistry);
+        Gauge.builder("salesflow.password.hash.queue", passwordHashExecutor,
+                        executor -> executor.getThreadPoolExecutor().getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * True when the stored hash was made with a weaker cost factor than
+     * app.security.bcrypt-strength. Cheap – only parses the hash prefix.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = passwordHashExecutor.submit(task);
+        } catch (TaskRejectedException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Too many sign-in requests in progress, retry shortly", RETRY_AFTER_SECONDS);
+        }
+
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException("Sign-in is busy, retry shortly", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
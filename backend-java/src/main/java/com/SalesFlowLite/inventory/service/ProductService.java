@@ -19,6 +19,8 @@ public interface ProductService {
 
     Product findByIdWithPessimisticLock(Long id);
 
+    Product findProductEntityById(Long id);
+
     Product findProductEntityBySku(String sku);
 
     Product findProductEntityByName(String name);
@@ -39,8 +41,17 @@ public interface ProductService {
 
     void reduceStock(Product product, int quantity);
 
+    /**
+     * Takes the row lock (SELECT ... FOR UPDATE) on an already loaded product and
+     * refreshes it, so stock checks see the committed value. Must run inside a transaction.
+     */
+    void lockForUpdate(Product product);
+
     List<ProductDto> getUpdatedProductsSince(Long timestamp);
 
+    // Products changed in (since, until] – the catalog part of a paged sync delta
+    List<ProductDto> getUpdatedProductsBetween(Long since, Long until);
+
     // === NEW: SKU with pessimistic lock (fixes compilation in SaleServiceImpl) ===
     Product findBySkuWithPessimisticLock(String sku);
 }
\ No newline at end of file
@@ -6,16 +6,29 @@ import com.SalesFlowLite.inventory.model.entity.RefreshToken;
 import com.SalesFlowLite.inventory.model.entity.User;
 import com.SalesFlowLite.inventory.repository.RefreshTokenRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Opaque refresh tokens. Only SHA-256(token) is stored, so a database leak
+ * does not leak usable tokens, and lookups go through a fixed-length unique
+ * index. Revocation deletes rows; expired ones are removed by a chunked purge
+ * job rather than waiting for someone to present them.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
@@ -25,6 +38,8 @@ public class RefreshTokenService {
     @Value("${app.jwt.refresh-token-expiration-ms:604800000}") // 7 days
     private long refreshTokenDurationMs;
 
+    private static final int PURGE_BATCH = 5000;
+
     private final SecureRandom secureRandom = new SecureRandom();
 
     // =====================================================
@@ -37,11 +52,12 @@ public class RefreshTokenService {
             throw new BusinessException(ErrorCode.AUTHENTICATION_FAILED, "User cannot be null");
 
         // Remove existing tokens (one-token-per-user policy)
-        refreshTokenRepository.deleteAllByUser(user);
+        refreshTokenRepository.deleteAllByUserId(user.getId());
 
+        String rawToken = generateTokenValue();
         RefreshToken token = RefreshToken.builder()
                 .id(UUID.randomUUID().toString())
-                .token(generateTokenValue())
+                .tokenHash(hash(rawToken))
                 .user(user)
                 .device(deviceInfo)
                 .issuedAt(Instant.now())
@@ -49,7 +65,9 @@ public class RefreshTokenService {
                 .revoked(false)
                 .build();
 
-        return refreshTokenRepository.save(token);
+        RefreshToken saved = refreshTokenRepository.save(token);
+        saved.setRawToken(rawToken); // handed to the client once, never persisted
+        return saved;
     }
 
     // =====================================================
@@ -57,7 +75,7 @@ public class RefreshTokenService {
     // =====================================================
     public Optional<RefreshToken> findByToken(String token) {
         if (token == null || token.isBlank()) return Optional.empty();
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenRepository.findByTokenHash(hash(token));
     }
 
     // =====================================================
@@ -68,7 +86,7 @@ public class RefreshTokenService {
 
         if (token.getExpiresAt().isBefore(Instant.now())) {
             // delete all tokens for that user if expired
-            refreshTokenRepository.deleteAllByUser(token.getUser());
+            refreshTokenRepository.deleteAllByUserId(token.getUser().getId());
             return false;
         }
 
@@ -80,10 +98,7 @@ public class RefreshTokenService {
     // =====================================================
     @Transactional
     public RefreshToken rotateRefreshToken(RefreshToken oldToken) {
-
-        oldToken.setRevoked(true);
-        refreshTokenRepository.save(oldToken);
-
+        // createOrReplace deletes every token of the user, the old one included
         return createOrReplaceRefreshToken(oldToken.getUser(), oldToken.getDevice());
     }
 
@@ -92,7 +107,8 @@ public class RefreshTokenService {
     // =====================================================
     @Transactional
     public void deleteByToken(String tokenValue) {
-        findByToken(tokenValue).ifPresent(refreshTokenRepository::delete);
+        if (tokenValue == null || tokenValue.isBlank()) return;
+        refreshTokenRepository.deleteByTokenHash(hash(tokenValue));
     }
 
     // =====================================================
@@ -100,7 +116,25 @@ public class RefreshTokenService {
     // =====================================================
     @Transactional
     public void deleteByUser(User user) {
-        refreshTokenRepository.deleteAllByUser(user);
+        refreshTokenRepository.deleteAllByUserId(user.getId());
+    }
+
+    // =====================================================
+    // PURGE EXPIRED (SCHEDULED)
+    // =====================================================
+    @Scheduled(cron = "${app.jwt.refresh-token-purge-cron:0 15 * * * *}")
+    public void purgeExpiredTokens() {
+        Instant now = Instant.now();
+        int deleted;
+        long total = 0;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(now, PURGE_BATCH);
+            total += deleted;
+        } while (deleted == PURGE_BATCH);
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens", total);
+        }
     }
 
     // =====================================================
@@ -111,4 +145,13 @@ public class RefreshTokenService {
         secureRandom.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
+
+    private static String hash(String tokenValue) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenValue.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
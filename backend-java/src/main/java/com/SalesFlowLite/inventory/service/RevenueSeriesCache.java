@@ -0,0 +1,117 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.SaleCompletedEvent;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueBucketSize;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Totals of closed revenue buckets, keyed by (size, zone, start).
+ *
+ * A bucket counts as closed closed-after-seconds after it ended, but a sale is
+ * stamped when its transaction starts, so a long checkout or bulk import can
+ * still commit into it. Such a SaleCompletedEvent drops the cached buckets
+ * that contain its sale_date after commit, and totals read before that
+ * eviction are not stored. The TTL only bounds staleness for sales committed
+ * through another instance. Only RevenueSeriesService decides what is closed;
+ * this is just the bounded map.
+ */
+@Component
+public class RevenueSeriesCache {
+
+    public record Key(RevenueBucketSize size, ZoneId zone, long startEpochSecond) {
+    }
+
+    public record Totals(BigDecimal revenue, long sales) {
+    }
+
+    private record Entry(Totals totals, long endEpochSecond, long loadedAtMs) {
+    }
+
+    private final Map<Key, Entry> closedBuckets = new ConcurrentHashMap<>();
+    private final ShopClock shopClock;
+    private final int maxEntries;
+    private final long ttlMs;
+    // Newest closed boundary cached or being read: later sales cannot touch any entry
+    private final AtomicLong latestEnd = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public RevenueSeriesCache(MeterRegistry meterRegistry,
+                              ShopClock shopClock,
+                              @Value("${app.sales.revenue.cache-size:50000}") int maxEntries,
+                              @Value("${app.sales.revenue.cache-ttl-seconds:600}") long ttlSeconds) {
+        this.shopClock = shopClock;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlSeconds * 1000;
+        this.hits = Counter.builder("salesflow.sales.revenue.cache")
+                .description("Closed revenue bucket lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("salesflow.sales.revenue.cache")
+                .description("Closed revenue bucket lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("salesflow.sales.revenue.cache.late_sale_evictions")
+                .description("Cached buckets dropped because a sale committed into them late")
+                .register(meterRegistry);
+    }
+
+    public Totals get(Key key) {
+        Entry entry = closedBuckets.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAtMs() >= ttlMs) {
+            closedBuckets.remove(key, entry);
+            entry = null;
+        }
+        (entry != null ? hits : misses).increment();
+        return entry != null ? entry.totals() : null;
+    }
+
+    /**
+     * Called before closed totals are read from the database; the result goes
+     * back to {@link #put}, so totals read before a late-sale eviction are dropped.
+     */
+    public long beginRead(Instant closedBefore) {
+        latestEnd.accumulateAndGet(closedBefore.getEpochSecond(), Math::max);
+        return generation.get();
+    }
+
+    public void put(Key key, Totals totals, long readAtGeneration) {
+        if (closedBuckets.size() >= maxEntries) {
+            closedBuckets.clear(); // bounded; a cold miss is one index range scan
+        }
+        long end = key.size().next(Instant.ofEpochSecond(key.startEpochSecond()).atZone(key.zone())).toEpochSecond();
+        closedBuckets.put(key, new Entry(totals, end, System.currentTimeMillis()));
+        if (generation.get() != readAtGeneration) {
+            closedBuckets.remove(key); // a late sale landed while these totals were read
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaleCompleted(SaleCompletedEvent event) {
+        if (event.saleDate() == null) return;
+        long at = shopClock.toShopTime(event.saleDate()).toEpochSecond();
+        // Usual checkout: stamped moments ago, its bucket is still open
+        if (at >= latestEnd.get()) return;
+
+        generation.incrementAndGet();
+        closedBuckets.entrySet().removeIf(e -> {
+            boolean contains = e.getKey().startEpochSecond() <= at && at < e.getValue().endEpochSecond();
+            if (contains) evictions.increment();
+            return contains;
+        });
+    }
+}
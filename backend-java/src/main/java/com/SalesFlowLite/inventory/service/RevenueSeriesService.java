@@ -0,0 +1,194 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.datasource.ReplicaRoutingDataSource;
+import com.SalesFlowLite.inventory.exception.BusinessException;
+import com.SalesFlowLite.inventory.exception.ErrorCode;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueBucket;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueBucketSize;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueSeries;
+import com.SalesFlowLite.inventory.repository.SaleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Revenue time series for dashboards, bucketed in SQL.
+ *
+ * The requested days are widened to whole buckets in the requested zone.
+ * Buckets that ended more than closed-after-seconds ago come from
+ * {@link RevenueSeriesCache}; one range query covers the rest, which on a
+ * dashboard refresh is just the open bucket. That query always runs on the
+ * primary: totals read from a lagging replica would be cached as final.
+ */
+@Service
+public class RevenueSeriesService {
+
+    private static final int MAX_BUCKETS = 2_000;
+
+    private final SaleRepository saleRepository;
+    private final RevenueSeriesCache revenueSeriesCache;
+    private final ShopClock shopClock;
+    private final long closedAfterSeconds;
+
+    public RevenueSeriesService(SaleRepository saleRepository,
+                                RevenueSeriesCache revenueSeriesCache,
+                                ShopClock shopClock,
+                                @Value("${app.sales.revenue.closed-after-seconds:60}") long closedAfterSeconds) {
+        this.saleRepository = saleRepository;
+        this.revenueSeriesCache = revenueSeriesCache;
+        this.shopClock = shopClock;
+        this.closedAfterSeconds = closedAfterSeconds;
+    }
+
+    @Transactional(readOnly = true)
+    public RevenueSeries getRevenueSeries(LocalDate from, LocalDate to, String bucket, String timeZone) {
+        RevenueBucketSize size = RevenueBucketSize.parse(bucket);
+        if (size == null) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "bucket must be hour, day, week or month");
+        }
+        ZoneId zone = zone(timeZone);
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "'from' must be before 'to'");
+        }
+
+        List<ZonedDateTime> bounds = bounds(size, from.atStartOfDay(zone), to.atStartOfDay(zone));
+        int count = bounds.size() - 1;
+        Instant closedBefore = Instant.now().minusSeconds(closedAfterSeconds);
+
+        RevenueSeriesCache.Totals[] totals = new RevenueSeriesCache.Totals[count];
+        int firstMissing = -1;
+        int lastMissing = -1;
+        for (int i = 0; i < count; i++) {
+            if (isClosed(bounds.get(i + 1), closedBefore)) {
+                totals[i] = revenueSeriesCache.get(key(size, zone, bounds.get(i)));
+            }
+            if (totals[i] == null) {
+                if (firstMissing < 0) firstMissing = i;
+                lastMissing = i;
+            }
+        }
+
+        if (firstMissing >= 0) {
+            load(size, zone, bounds, firstMissing, lastMissing, totals, closedBefore);
+        }
+        return toSeries(size, zone, bounds, totals, closedBefore);
+    }
+
+    // =========================================================
+    // INTERNALS
+    // =========================================================
+
+    /**
+     * Sums buckets first..last with one query and caches those that are closed.
+     */
+    private void load(RevenueBucketSize size, ZoneId zone, List<ZonedDateTime> bounds, int first, int last,
+                      RevenueSeriesCache.Totals[] totals, Instant closedBefore) {
+        long[] starts = new long[bounds.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = bounds.get(i).toEpochSecond();
+        }
+
+        int width = last - first + 1;
+        BigDecimal[] revenue = new BigDecimal[width];
+        long[] sales = new long[width];
+        Arrays.fill(revenue, BigDecimal.ZERO);
+
+        long generation = revenueSeriesCache.beginRead(closedBefore);
+        List<Object[]> rows = ReplicaRoutingDataSource.onPrimary(() -> saleRepository.sumRevenueByBucket(size.field(),
+                ShopClock.sqlZone(shopClock.storageZone()), ShopClock.sqlZone(zone),
+                shopClock.toStorageTime(bounds.get(first)), shopClock.toStorageTime(bounds.get(last + 1))));
+        for (Object[] row : rows) {
+            // Locate by range rather than equality, so a DST edge can never drop a row
+            int index = Arrays.binarySearch(starts, ((Number) row[0]).longValue());
+            int bucket = (index >= 0 ? index : -index - 2) - first;
+            if (bucket < 0 || bucket >= width) continue;
+            revenue[bucket] = revenue[bucket].add((BigDecimal) row[1]);
+            sales[bucket] += ((Number) row[2]).longValue();
+        }
+
+        for (int i = first; i <= last; i++) {
+            if (totals[i] != null) continue;
+            totals[i] = new RevenueSeriesCache.Totals(revenue[i - first], sales[i - first]);
+            if (isClosed(bounds.get(i + 1), closedBefore)) {
+                revenueSeriesCache.put(key(size, zone, bounds.get(i)), totals[i], generation);
+            }
+        }
+    }
+
+    private RevenueSeries toSeries(RevenueBucketSize size, ZoneId zone, List<ZonedDateTime> bounds,
+                                   RevenueSeriesCache.Totals[] totals, Instant closedBefore) {
+        List<RevenueBucket> buckets = new ArrayList<>(totals.length);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalSales = 0;
+        for (int i = 0; i < totals.length; i++) {
+            buckets.add(RevenueBucket.builder()
+                    .start(bounds.get(i).toOffsetDateTime())
+                    .end(bounds.get(i + 1).toOffsetDateTime())
+                    .revenue(totals[i].revenue())
+                    .sales(totals[i].sales())
+                    .closed(isClosed(bounds.get(i + 1), closedBefore))
+                    .build());
+            totalRevenue = totalRevenue.add(totals[i].revenue());
+            totalSales += totals[i].sales();
+        }
+        return RevenueSeries.builder()
+                .bucket(size.field())
+                .timeZone(zone.getId())
+                .totalRevenue(totalRevenue)
+                .totalSales(totalSales)
+                .buckets(buckets)
+                .build();
+    }
+
+    /** Bucket starts covering [from, to), followed by the end of the last bucket. */
+    private static List<ZonedDateTime> bounds(RevenueBucketSize size, ZonedDateTime from, ZonedDateTime to) {
+        List<ZonedDateTime> bounds = new ArrayList<>();
+        ZonedDateTime start = size.truncate(from);
+        bounds.add(start);
+        while (start.isBefore(to)) {
+            if (bounds.size() > MAX_BUCKETS) {
+                throw new BusinessException(ErrorCode.VALIDATION_FAILED,
+                        "At most %d buckets per request, use a coarser bucket", MAX_BUCKETS);
+            }
+            start = size.next(start);
+            bounds.add(start);
+        }
+        return bounds;
+    }
+
+    private static boolean isClosed(ZonedDateTime bucketEnd, Instant closedBefore) {
+        return !bucketEnd.toInstant().isAfter(closedBefore);
+    }
+
+    private static RevenueSeriesCache.Key key(RevenueBucketSize size, ZoneId zone, ZonedDateTime start) {
+        return new RevenueSeriesCache.Key(size, zone, start.toEpochSecond());
+    }
+
+    private ZoneId zone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return shopClock.shopZone();
+        }
+        try {
+            ZoneId zone = ZoneId.of(timeZone);
+            // PostgreSQL reads "+02:00" as POSIX (sign inverted); region ids mean the same on both sides
+            if (zone instanceof ZoneOffset && !ZoneOffset.UTC.equals(zone)) {
+                throw new BusinessException(ErrorCode.VALIDATION_FAILED,
+                        "tz must be a region id such as Africa/Lagos, not an offset");
+            }
+            return zone;
+        } catch (DateTimeException e) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "Unknown time zone '%s'", timeZone);
+        }
+    }
+}
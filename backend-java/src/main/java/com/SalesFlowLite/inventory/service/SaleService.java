@@ -1,6 +1,7 @@
 package com.SalesFlowLite.inventory.service;
 
 import com.SalesFlowLite.inventory.model.dto.*;
+import com.SalesFlowLite.inventory.model.dto.sync.SalesDelta;
 
 import java.util.List;
 
@@ -10,6 +11,9 @@ public interface SaleService {
 
     SaleResponse createSingleSale(CreateSingleSaleRequest request);
 
+    // Offline-origin sale: stock goes through the per-device ledger, never rejected
+    SaleResponse recordOfflineSale(CreateSaleRequest request, Long userId, String counterKey);
+
     List<SaleResponse> getAllSales();
 
     List<SaleResponse> getSalesToday();
@@ -18,6 +22,9 @@ public interface SaleService {
 
     List<SaleResponse> getRecentSales(int limit);
 
+    // Sales changed in (timestamp, until] epoch millis (offline sync delta), at most maxLines lines
+    SalesDelta getSalesUpdatedBetween(Long timestamp, long until, int maxLines);
+
     void bulkCreateSales(List<CreateSaleRequest> requests);
 
     List<SalesHistoryDto> getProductSalesHistoryBySku(String sku, int days);
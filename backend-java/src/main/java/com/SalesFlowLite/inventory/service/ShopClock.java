@@ -0,0 +1,48 @@
+package com.SalesFlowLite.inventory.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * The two zones behind "today": sales.sale_date is written with
+ * LocalDateTime.now(), i.e. JVM wall-clock time, while day boundaries are the
+ * shop's (app.shop.time-zone, default the JVM zone).
+ */
+@Component
+public class ShopClock {
+
+    private final ZoneId storageZone = ZoneId.systemDefault();
+    private final ZoneId shopZone;
+
+    public ShopClock(@Value("${app.shop.time-zone:}") String shopTimeZone) {
+        this.shopZone = shopTimeZone.isBlank() ? storageZone : ZoneId.of(shopTimeZone);
+    }
+
+    public ZoneId shopZone() {
+        return shopZone;
+    }
+
+    public ZoneId storageZone() {
+        return storageZone;
+    }
+
+    /** A stored sale_date as shop-local time. */
+    public ZonedDateTime toShopTime(LocalDateTime saleDate) {
+        return saleDate.atZone(storageZone).withZoneSameInstant(shopZone);
+    }
+
+    /** An instant as a value comparable with sale_date (range predicates). */
+    public LocalDateTime toStorageTime(ZonedDateTime time) {
+        return time.withZoneSameInstant(storageZone).toLocalDateTime();
+    }
+
+    /** Zone name for PostgreSQL AT TIME ZONE / date_trunc; region ids mean the same on both sides. */
+    public static String sqlZone(ZoneId zone) {
+        return ZoneOffset.UTC.equals(zone) ? "UTC" : zone.getId();
+    }
+}
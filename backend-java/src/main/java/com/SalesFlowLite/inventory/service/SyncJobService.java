@@ -0,0 +1,176 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.exception.ServiceOverloadedException;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncJobResponse;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncJobStatus;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncRequest;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncSaleResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs large offline uploads off the request thread.
+ *
+ * Jobs are accepted into a bounded in-memory registry and executed by the
+ * dedicated syncJobExecutor; clients poll /api/v1/sync/jobs/{id}. Finished jobs
+ * are kept for a retention window so late polls still see per-sale results.
+ *
+ * Jobs are not persisted: a restart loses unfinished ones, and a poll after
+ * retention-minutes or max-retained eviction gets 404. The device keeps its
+ * upload until it sees COMPLETED and resubmits it. Sales already committed by
+ * the lost job are skipped by their clientSaleId; a sale sent without one is
+ * recorded again, so clients must set it.
+ */
+@Slf4j
+@Service
+public class SyncJobService {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final SyncService syncService;
+    private final ThreadPoolTaskExecutor syncJobExecutor;
+
+    @Value("${app.sync.jobs.max-retained:1000}")
+    private int maxRetainedJobs;
+
+    @Value("${app.sync.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final ConcurrentHashMap<String, SyncJob> jobs = new ConcurrentHashMap<>();
+
+    public SyncJobService(SyncService syncService,
+                          @Qualifier("syncJobExecutor") ThreadPoolTaskExecutor syncJobExecutor) {
+        this.syncService = syncService;
+        this.syncJobExecutor = syncJobExecutor;
+    }
+
+    // =====================================================
+    // SUBMIT
+    // =====================================================
+    public SyncJobResponse submit(SyncRequest request, String ownerPhone) {
+        if (jobs.size() >= maxRetainedJobs) {
+            purgeFinishedJobs();
+            if (jobs.size() >= maxRetainedJobs) {
+                throw new ServiceOverloadedException("Too many sync jobs in progress, retry later", RETRY_AFTER_SECONDS);
+            }
+        }
+
+        int total = request.getOfflineSales() != null ? request.getOfflineSales().size() : 0;
+        SyncJob job = new SyncJob(UUID.randomUUID().toString(), ownerPhone, total);
+        jobs.put(job.id, job);
+
+        try {
+            syncJobExecutor.execute(() -> run(job, request));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new ServiceOverloadedException("Sync queue is full, retry later", RETRY_AFTER_SECONDS);
+        }
+        return job.snapshot(false);
+    }
+
+    // =====================================================
+    // STATUS
+    // =====================================================
+    public Optional<SyncJobResponse> find(String jobId, String requesterPhone, boolean isAdmin) {
+        SyncJob job = jobs.get(jobId);
+        if (job == null || (!isAdmin && !job.ownerPhone.equals(requesterPhone))) {
+            return Optional.empty();
+        }
+        return Optional.of(job.snapshot(true));
+    }
+
+    // =====================================================
+    // WORKER
+    // =====================================================
+    private void run(SyncJob job, SyncRequest request) {
+        job.start();
+        try {
+            syncService.processOfflineBatch(request, job::record);
+            job.finish(SyncJobStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.warn("Sync job {} failed: {}", job.id, e.getMessage());
+            job.finish(SyncJobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    // =====================================================
+    // JOB STATE (written by one worker, read by pollers)
+    // =====================================================
+    private static final class SyncJob {
+        private final String id;
+        private final String ownerPhone;
+        private final int total;
+        private final Instant submittedAt = Instant.now();
+        private final List<SyncSaleResult> results = new ArrayList<>();
+
+        private volatile SyncJobStatus status = SyncJobStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant completedAt;
+        private volatile String error;
+        private int synced;
+        private int conflicts;
+        private int failed;
+
+        private SyncJob(String id, String ownerPhone, int total) {
+            this.id = id;
+            this.ownerPhone = ownerPhone;
+            this.total = total;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status = SyncJobStatus.RUNNING;
+        }
+
+        synchronized void record(SyncSaleResult result) {
+            results.add(result);
+            switch (result.status()) {
+                case SyncSaleResult.SYNCED -> synced++;
+                case SyncSaleResult.CONFLICT -> conflicts++;
+                default -> failed++;
+            }
+        }
+
+        void finish(SyncJobStatus finalStatus, String message) {
+            error = message;
+            completedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        synchronized SyncJobResponse snapshot(boolean withResults) {
+            return SyncJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .totalSales(total)
+                    .processedSales(results.size())
+                    .synced(synced)
+                    .conflicts(conflicts)
+                    .failed(failed)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .error(error)
+                    .results(withResults ? List.copyOf(results) : List.of())
+                    .build();
+        }
+    }
+}
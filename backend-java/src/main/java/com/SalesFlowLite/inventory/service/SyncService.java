@@ -1,9 +1,25 @@
 package com.SalesFlowLite.inventory.service;
 
+import com.SalesFlowLite.inventory.model.dto.sync.DeviceSyncStatus;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncRequest;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncResponse;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncSaleResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface SyncService {
     SyncResponse processOfflineBatch(SyncRequest syncRequest);
+
+    // Same as above, reporting each sale's outcome as soon as it is known
+    SyncResponse processOfflineBatch(SyncRequest syncRequest, Consumer<SyncSaleResult> onResult);
     SyncResponse getChangesSince(Long lastSyncTimestamp);
-}
\ No newline at end of file
+
+    // Device-aware download: falls back to the server-side cursor when the client sends none
+    SyncResponse getChangesForDevice(Long userId, String deviceId, Long lastSyncTimestamp);
+
+    void acknowledge(Long userId, String deviceId, Long cursor);
+
+    List<DeviceSyncStatus> getLaggingDevices(Duration maxLag, int limit);
+}
@@ -0,0 +1,253 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.SaleCompletedEvent;
+import com.SalesFlowLite.inventory.model.dto.TodaySalesSummary;
+import com.SalesFlowLite.inventory.repository.SaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Today's revenue, sale count and units – in total and per shop-local hour –
+ * kept in LongAdders so the dashboard never runs an aggregate query.
+ *
+ * Sales are added by SaleCompletedEvent after commit. The day rolls over
+ * lazily at the shop's midnight (app.shop.time-zone): the first read or write
+ * after it swaps in an empty day. A sale stamped before midnight but committed
+ * after it belongs to yesterday and is not counted.
+ *
+ * The counters are rebuilt from the database at startup and every
+ * reconcile-interval-ms, which also picks up other instances' sales. While a
+ * rebuild runs, events are also collected by sale id. The database is read as
+ * hourly sums up to a few minutes ago plus single sales after that, and the
+ * collected events are merged into those single sales by id. A sale is counted
+ * once whether its commit landed before or after the query's snapshot.
+ */
+@Slf4j
+@Component
+public class TodaySalesCounters {
+
+    // Longer than any checkout transaction: sale_date is stamped when it starts
+    private static final long RECENT_MINUTES = 5;
+
+    private final SaleRepository saleRepository;
+    private final ShopClock shopClock;
+    private final Counter corrections;
+
+    private final AtomicReference<State> state;
+
+    public TodaySalesCounters(SaleRepository saleRepository, ShopClock shopClock, MeterRegistry meterRegistry) {
+        this.saleRepository = saleRepository;
+        this.shopClock = shopClock;
+        this.state = new AtomicReference<>(new State(new Day(today()), null));
+
+        Gauge.builder("salesflow.sales.today.revenue", this, counters -> counters.current().today.revenueCents.sum() / 100.0)
+                .description("Revenue since the shop's midnight")
+                .register(meterRegistry);
+        Gauge.builder("salesflow.sales.today.count", this, counters -> counters.current().today.sales.sum())
+                .description("Sales since the shop's midnight")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("salesflow.sales.today.reconcile_corrections")
+                .description("Reconciliations that found the in-memory counters off")
+                .register(meterRegistry);
+    }
+
+    // =========================================================
+    // RECORD
+    // =========================================================
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaleCompleted(SaleCompletedEvent event) {
+        ZonedDateTime shopTime = shopClock.toShopTime(event.saleDate());
+        Contribution sale = new Contribution(shopTime.getHour(), toCents(event.totalAmount()), event.units());
+        LocalDate saleDay = shopTime.toLocalDate();
+
+        State s = current();
+        if (s.rebuild == null) {
+            s.today.add(saleDay, sale);
+            return;
+        }
+        // Only while a rebuild runs: serialised against its final merge
+        synchronized (s.rebuild) {
+            State now = current();
+            now.today.add(saleDay, sale);
+            if (now.rebuild == s.rebuild && saleDay.equals(now.today.date)) {
+                s.rebuild.sales.put(event.saleId(), sale);
+            }
+        }
+    }
+
+    // =========================================================
+    // READ
+    // =========================================================
+    public TodaySalesSummary summary() {
+        Day day = current().today;
+
+        List<TodaySalesSummary.Hour> hourly = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            hourly.add(new TodaySalesSummary.Hour(hour,
+                    BigDecimal.valueOf(day.hourRevenueCents[hour].sum(), 2),
+                    day.hourSales[hour].sum(),
+                    day.hourUnits[hour].sum()));
+        }
+        return TodaySalesSummary.builder()
+                .date(day.date)
+                .timeZone(shopClock.shopZone().getId())
+                .revenue(BigDecimal.valueOf(day.revenueCents.sum(), 2))
+                .sales(day.sales.sum())
+                .units(day.units.sum())
+                .hourly(hourly)
+                .reconciledAt(day.reconciledAt)
+                .build();
+    }
+
+    // =========================================================
+    // RECONCILE
+    // =========================================================
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.sales.today.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        State before = current();
+        Rebuild rebuild = new Rebuild();
+        if (!state.compareAndSet(before, new State(before.today, rebuild))) {
+            return; // rolled over or another rebuild – try next run
+        }
+
+        LocalDate date = before.today.date;
+        String storageZone = ShopClock.sqlZone(shopClock.storageZone());
+        String shopZone = ShopClock.sqlZone(shopClock.shopZone());
+        LocalDateTime start = shopClock.toStorageTime(date.atStartOfDay(shopClock.shopZone()));
+        LocalDateTime end = shopClock.toStorageTime(date.plusDays(1).atStartOfDay(shopClock.shopZone()));
+        LocalDateTime recentFrom = shopClock.toStorageTime(ZonedDateTime.now().minusMinutes(RECENT_MINUTES));
+        if (recentFrom.isBefore(start)) recentFrom = start;
+
+        Day rebuilt = new Day(date);
+        Map<Long, Contribution> recent = new HashMap<>();
+        try {
+            for (Object[] row : saleRepository.sumSalesByHour(storageZone, shopZone, start, recentFrom)) {
+                rebuilt.addHour(((Number) row[0]).intValue(), toCents((BigDecimal) row[1]),
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+            }
+            for (Object[] row : saleRepository.listSalesByHour(storageZone, shopZone, recentFrom, end)) {
+                recent.put(((Number) row[0]).longValue(), new Contribution(((Number) row[1]).intValue(),
+                        toCents((BigDecimal) row[2]), ((Number) row[3]).longValue()));
+            }
+        } catch (DataAccessException e) {
+            state.updateAndGet(s -> s.rebuild == rebuild ? new State(s.today, null) : s);
+            log.warn("Today counters reconciliation failed, keeping live counters: {}", e.getMessage());
+            return;
+        }
+
+        State replaced;
+        synchronized (rebuild) {
+            rebuild.sales.forEach(recent::putIfAbsent);
+            recent.values().forEach(sale -> rebuilt.addHour(sale.hour, sale.cents, 1, sale.units));
+            rebuilt.reconciledAt = OffsetDateTime.now(shopClock.shopZone());
+            replaced = state.getAndUpdate(s -> s.rebuild == rebuild ? new State(rebuilt, null) : s);
+        }
+        if (replaced.rebuild != rebuild) {
+            return; // the day rolled over while the query ran
+        }
+
+        long liveSales = replaced.today.sales.sum();
+        long driftCents = replaced.today.revenueCents.sum() - rebuilt.revenueCents.sum();
+        if (liveSales != rebuilt.sales.sum() || driftCents != 0) {
+            corrections.increment();
+            log.info("Today counters corrected by reconciliation: sales {} → {}, revenue cents off by {}",
+                    liveSales, rebuilt.sales.sum(), driftCents);
+        }
+    }
+
+    // =========================================================
+    // INTERNALS
+    // =========================================================
+
+    /**
+     * The current state, rolled over to an empty day first when the shop's
+     * midnight has passed. One volatile read plus a clock read on the hot path.
+     */
+    private State current() {
+        State s = state.get();
+        if (System.currentTimeMillis() < s.today.endMillis) {
+            return s;
+        }
+        LocalDate today = today();
+        return state.updateAndGet(c -> c.today.date.isBefore(today) ? new State(new Day(today), null) : c);
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(shopClock.shopZone());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? 0 : amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private record State(Day today, Rebuild rebuild) {
+    }
+
+    private record Contribution(int hour, long cents, long units) {
+    }
+
+    /** Sales seen while a rebuild's queries run, by id; guarded by the instance itself. */
+    private static final class Rebuild {
+        final Map<Long, Contribution> sales = new HashMap<>();
+    }
+
+    private final class Day {
+        final LocalDate date;
+        final long endMillis;
+        final LongAdder revenueCents = new LongAdder();
+        final LongAdder sales = new LongAdder();
+        final LongAdder units = new LongAdder();
+        final LongAdder[] hourRevenueCents = adders();
+        final LongAdder[] hourSales = adders();
+        final LongAdder[] hourUnits = adders();
+        volatile OffsetDateTime reconciledAt;
+
+        Day(LocalDate date) {
+            this.date = date;
+            this.endMillis = date.plusDays(1).atStartOfDay(shopClock.shopZone()).toInstant().toEpochMilli();
+        }
+
+        void add(LocalDate saleDay, Contribution sale) {
+            if (saleDay.equals(date)) {
+                addHour(sale.hour, sale.cents, 1, sale.units);
+            }
+        }
+
+        void addHour(int hour, long cents, long count, long saleUnits) {
+            revenueCents.add(cents);
+            sales.add(count);
+            units.add(saleUnits);
+            hourRevenueCents[hour].add(cents);
+            hourSales[hour].add(count);
+            hourUnits[hour].add(saleUnits);
+        }
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[24];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.UserProfileChangedEvent;
+import com.SalesFlowLite.inventory.model.dto.user.UserResponse;
+import com.SalesFlowLite.inventory.model.entity.User;
+import com.SalesFlowLite.inventory.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * phone → profile + ETag for /auth/me and /user/me, which the frontend calls
+ * on every route change.
+ *
+ * Entries are dropped by UserProfileChangedEvent after commit; the TTL only
+ * bounds staleness for changes made through another instance. The ETag is
+ * derived from users.updated_at, so it changes exactly when the row does.
+ * A load that overlaps an eviction may have read the row before the change
+ * committed, so it is not kept (same generation check as RevenueSeriesCache).
+ */
+@Component
+@RequiredArgsConstructor
+public class UserProfileCache {
+
+    public record CachedProfile(UserResponse user, String etag, long loadedAtMs) {
+    }
+
+    private final UserRepository userRepository;
+
+    private final Map<String, CachedProfile> profiles = new ConcurrentHashMap<>();
+
+    // Bumped by every eviction, before the entry is removed
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.user.profile-cache-size:10000}")
+    private int maxEntries;
+
+    @Value("${app.user.profile-cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public CachedProfile get(String phoneNumber) {
+        long now = System.currentTimeMillis();
+        CachedProfile cached = profiles.get(phoneNumber);
+        if (cached != null && now - cached.loadedAtMs() < ttlSeconds * 1000) {
+            return cached;
+        }
+
+        long readAtGeneration = generation.get();
+        User user = userRepository.findByPhoneNumber(phoneNumber)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        CachedProfile loaded = new CachedProfile(UserService.toResponse(user), etagOf(user), now);
+
+        if (profiles.size() >= maxEntries) {
+            profiles.clear(); // bounded; a cold miss is one indexed lookup
+        }
+        profiles.put(phoneNumber, loaded);
+        if (generation.get() != readAtGeneration) {
+            // An update committed while loading; this copy may predate it
+            profiles.remove(phoneNumber, loaded);
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        generation.incrementAndGet();
+        profiles.remove(event.phoneNumber());
+    }
+
+    private static String etagOf(User user) {
+        LocalDateTime version = user.getUpdatedAt() != null ? user.getUpdatedAt() : user.getCreatedAt();
+        long stamp = version != null ? version.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        return "\"u" + user.getId() + "-" + Long.toString(stamp, 36) + "\"";
+    }
+}
@@ -1,13 +1,15 @@
 // src/main/java/com/SalesFlowLite/inventory/service/UserService.java
 package com.SalesFlowLite.inventory.service;
 
+import com.SalesFlowLite.inventory.event.UserProfileChangedEvent;
+import com.SalesFlowLite.inventory.event.UserSecurityChangedEvent;
 import com.SalesFlowLite.inventory.model.dto.user.ChangePasswordRequest;
 import com.SalesFlowLite.inventory.model.dto.user.UpdateUserRequest;
 import com.SalesFlowLite.inventory.model.dto.user.UserResponse;
 import com.SalesFlowLite.inventory.model.entity.User;
 import com.SalesFlowLite.inventory.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,7 +17,8 @@ import org.springframework.stereotype.Service;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ================================
     // /me
@@ -24,13 +27,7 @@ public class UserService {
         User user = userRepository.findByPhoneNumber(phoneNumber)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        return UserResponse.builder()
-                .id(user.getId().toString())           // <-- CONVERT Long → String
-                .phoneNumber(user.getPhoneNumber())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole().name())
-                .build();
+        return toResponse(user);
     }
 
     // ================================
@@ -44,13 +41,8 @@ public class UserService {
         user.setEmail(request.getEmail());
         userRepository.save(user);
 
-        return UserResponse.builder()
-                .id(user.getId().toString())           // <-- CONVERT Long → String
-                .phoneNumber(user.getPhoneNumber())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole().name())
-                .build();
+        eventPublisher.publishEvent(new UserProfileChangedEvent(phoneNumber));
+        return toResponse(user);
     }
 
     // ================================
@@ -60,11 +52,29 @@ public class UserService {
         User user = userRepository.findByPhoneNumber(phoneNumber)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getOldPassword(), user.getPassword())) {
             throw new RuntimeException("Old password is incorrect");
         }
 
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(passwordHashingService.encode(request.getNewPassword()));
+        // Invalidate every access token issued before the change
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
         userRepository.save(user);
+
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getSecurityVersion()));
+        eventPublisher.publishEvent(new UserProfileChangedEvent(phoneNumber));
+    }
+
+    // ================================
+    // MAPPING
+    // ================================
+    public static UserResponse toResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId().toString())           // <-- CONVERT Long → String
+                .phoneNumber(user.getPhoneNumber())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole().name())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.SalesFlowLite.inventory.service.impl;
 
+import com.SalesFlowLite.inventory.event.CatalogChangedEvent;
 import com.SalesFlowLite.inventory.exception.InsufficientStockException;
 import com.SalesFlowLite.inventory.exception.ProductNotFoundException;
 import com.SalesFlowLite.inventory.model.dto.ProductDto;
@@ -11,7 +12,7 @@ import com.SalesFlowLite.inventory.service.ProductService;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,7 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final InventoryRepository inventoryRepository;
     private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -43,6 +45,7 @@ public class ProductServiceImpl implements ProductService {
 
         Product saved = productRepository.save(product);
         syncProductToInventory(saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(saved));
         return toDto(saved);
     }
 
@@ -67,6 +70,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getAllProducts() {
         return productRepository.findAll().stream()
                 .map(this::toDto)
@@ -74,28 +78,35 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductDto getProductById(Long id) {
         return toDto(findByIdOrThrow(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductDto getProductByName(String name) {
         return toDto(findByNameOrThrow(name));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductDto getProductBySku(String sku) {
         return toDto(findBySkuOrThrow(sku));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional
     public Product findByIdWithPessimisticLock(Long id) {
-        return productRepository.findById(id)
+        return productRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    @Override
+    public Product findProductEntityById(Long id) {
+        return findByIdOrThrow(id);
+    }
+
     @Override
     public Product findProductEntityBySku(String sku) {
         return productRepository.findBySku(sku)
@@ -109,13 +120,19 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Transactional
     public Product findBySkuWithPessimisticLock(String sku) {
-        return productRepository.findBySku(sku)
+        return productRepository.findBySkuForUpdate(sku)
                 .orElseThrow(() -> new ProductNotFoundException("sku", sku));
     }
 
+    @Override
+    @Transactional
+    public void lockForUpdate(Product product) {
+        // refresh, not lock: em.lock() would keep the stale stock read before the lock
+        em.refresh(product, LockModeType.PESSIMISTIC_WRITE);
+    }
+
     @Override
     @Transactional
     public void reduceStock(Product product, int quantity) {
@@ -124,7 +141,9 @@ public class ProductServiceImpl implements ProductService {
             throw new InsufficientStockException("Not enough stock for product " + product.getSku());
         }
         product.setStockQuantity(current - quantity);
-        productRepository.save(product);
+        // Flush so @PreUpdate stamps lastUpdated before the change event captures it
+        productRepository.saveAndFlush(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(product));
     }
 
     @Override
@@ -132,8 +151,9 @@ public class ProductServiceImpl implements ProductService {
     public ProductDto updateProduct(Long id, ProductDto dto) {
         Product product = findByIdOrThrow(id);
         updateFields(product, dto);
-        Product saved = productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
         syncProductToInventory(saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(saved));
         return toDto(saved);
     }
 
@@ -142,8 +162,9 @@ public class ProductServiceImpl implements ProductService {
     public ProductDto updateProductByName(String name, ProductDto dto) {
         Product product = findByNameOrThrow(name);
         updateFields(product, dto);
-        Product saved = productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
         syncProductToInventory(saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(saved));
         return toDto(saved);
     }
 
@@ -152,8 +173,9 @@ public class ProductServiceImpl implements ProductService {
     public ProductDto updateProductBySku(String sku, ProductDto dto) {
         Product product = findBySkuOrThrow(sku);
         updateFields(product, dto);
-        Product saved = productRepository.save(product);
+        Product saved = productRepository.saveAndFlush(product);
         syncProductToInventory(saved);
+        eventPublisher.publishEvent(CatalogChangedEvent.updated(saved));
         return toDto(saved);
     }
 
@@ -161,6 +183,7 @@ public class ProductServiceImpl implements ProductService {
     @Transactional
     public void deleteProduct(Long id) {
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(id));
     }
 
     @Override
@@ -168,6 +191,7 @@ public class ProductServiceImpl implements ProductService {
     public void deleteProductByName(String name) {
         Product product = findByNameOrThrow(name);
         productRepository.delete(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(product.getId()));
     }
 
     @Override
@@ -175,9 +199,11 @@ public class ProductServiceImpl implements ProductService {
     public void deleteProductBySku(String sku) {
         Product product = findBySkuOrThrow(sku);
         productRepository.delete(product);
+        eventPublisher.publishEvent(CatalogChangedEvent.deleted(product.getId()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getLowStockProducts() {
         return productRepository.findLowStockProducts().stream()
                 .map(this::toDto)
@@ -185,6 +211,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductDto> getUpdatedProductsSince(Long timestamp) {
         if (timestamp == null || timestamp <= 0) {
             return getAllProducts();
@@ -194,6 +221,14 @@ public class ProductServiceImpl implements ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDto> getUpdatedProductsBetween(Long since, Long until) {
+        return productRepository.findByLastUpdatedBetween(since, until).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
     private Product findByIdOrThrow(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
@@ -1,22 +1,38 @@
 package com.SalesFlowLite.inventory.service.impl;
 
+import com.SalesFlowLite.inventory.event.SaleCompletedEvent;
 import com.SalesFlowLite.inventory.exception.InsufficientStockException;
+import com.SalesFlowLite.inventory.exception.ProductNotFoundException;
 import com.SalesFlowLite.inventory.model.dto.*;
+import com.SalesFlowLite.inventory.model.dto.sync.SalesDelta;
 import com.SalesFlowLite.inventory.model.entity.Product;
 import com.SalesFlowLite.inventory.model.entity.Sale;
 import com.SalesFlowLite.inventory.model.entity.SaleItem;
+import com.SalesFlowLite.inventory.monitoring.CheckoutMetrics;
+import com.SalesFlowLite.inventory.monitoring.CheckoutMetrics.Outcome;
+import com.SalesFlowLite.inventory.monitoring.CheckoutMetrics.Stage;
+import com.SalesFlowLite.inventory.monitoring.LockContentionTracker;
+import com.SalesFlowLite.inventory.monitoring.jfr.CheckoutEvent;
 import com.SalesFlowLite.inventory.repository.SaleRepository;
+import com.SalesFlowLite.inventory.service.OfflineStockLedgerService;
 import com.SalesFlowLite.inventory.service.ProductService;
 import com.SalesFlowLite.inventory.service.SaleService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,43 +41,193 @@ public class SaleServiceImpl implements SaleService {
 
     private final SaleRepository saleRepository;
     private final ProductService productService;
+    private final OfflineStockLedgerService offlineStockLedgerService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final LockContentionTracker lockContentionTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public SaleResponse createSale(CreateSaleRequest request) {
-        return processSaleItems(request.items());
+        return processSaleItems(request.items(), CheckoutMetrics.SALES);
     }
 
     @Override
     @Transactional
     public SaleResponse createSingleSale(CreateSingleSaleRequest request) {
-        return processSaleItems(request.items());
+        return processSaleItems(request.items(), CheckoutMetrics.SALES_SINGLE);
     }
 
-    private SaleResponse processSaleItems(List<SaleItemRequest> itemRequests) {
+    private SaleResponse processSaleItems(List<SaleItemRequest> itemRequests, String endpoint) {
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
+        SaleResponse response = null;
+        Outcome outcome = Outcome.ERROR;
+        try {
+            response = doProcessSaleItems(itemRequests, endpoint);
+            outcome = Outcome.SUCCESS;
+            return response;
+        } catch (InsufficientStockException e) {
+            outcome = Outcome.INSUFFICIENT_STOCK;
+            throw e;
+        } catch (ProductNotFoundException e) {
+            outcome = Outcome.UNKNOWN_PRODUCT;
+            throw e;
+        } finally {
+            checkoutMetrics.outcome(endpoint, outcome);
+            commit(event, endpoint, itemRequests.size(), response, outcome);
+        }
+    }
+
+    private SaleResponse doProcessSaleItems(List<SaleItemRequest> itemRequests, String endpoint) {
         Sale sale = Sale.builder()
                 .saleDate(LocalDateTime.now())
                 .build();
 
-        BigDecimal total = BigDecimal.ZERO;
+        // 1. Resolve every line to its product (plain indexed reads)
+        List<Product> products = checkoutMetrics.time(endpoint, Stage.PRODUCT_LOOKUP, () -> {
+            List<Product> resolved = new ArrayList<>(itemRequests.size());
+            for (SaleItemRequest itemReq : itemRequests) {
+                resolved.add(itemReq.productId() != null
+                        ? productService.findProductEntityById(itemReq.productId())
+                        : productService.findProductEntityBySku(itemReq.sku()));
+            }
+            return resolved;
+        });
+
+        // 2. Row-lock each distinct product once, in id order, so two concurrent
+        //    checkouts of the same products can never deadlock on each other
+        checkoutMetrics.time(endpoint, Stage.LOCK_WAIT, () -> products.stream()
+                .collect(Collectors.toMap(Product::getId, product -> product, (a, b) -> a, TreeMap::new))
+                .values()
+                .forEach(this::lockTracked));
+
+        // 3. Check and move stock, build the lines
+        BigDecimal total = checkoutMetrics.time(endpoint, Stage.STOCK_UPDATE, () -> {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int i = 0; i < itemRequests.size(); i++) {
+                SaleItemRequest itemReq = itemRequests.get(i);
+                Product product = products.get(i);
 
-        for (SaleItemRequest itemReq : itemRequests) {
-            Product product = itemReq.productId() != null
-                    ? productService.findByIdWithPessimisticLock(itemReq.productId())
-                    : productService.findBySkuWithPessimisticLock(itemReq.sku());
+                int available = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+                if (available < itemReq.quantity()) {
+                    throw new InsufficientStockException(
+                            "Not enough stock for product " + product.getSku());
+                }
 
-            int available = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-            if (available < itemReq.quantity()) {
-                throw new InsufficientStockException(
-                        "Not enough stock for product " + product.getSku());
+                // FIXED: direct BigDecimal from product.price
+                BigDecimal unitPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
+                BigDecimal quantity = BigDecimal.valueOf(itemReq.quantity());
+                BigDecimal subtotal = unitPrice.multiply(quantity);
+
+                productService.reduceStock(product, itemReq.quantity());
+
+                SaleItem item = SaleItem.builder()
+                        .sale(sale)
+                        .product(product)
+                        .productSku(product.getSku())
+                        .productName(product.getName())
+                        .quantity(itemReq.quantity())
+                        .unitPrice(unitPrice)
+                        .subtotal(subtotal)
+                        .build();
+
+                sale.getItems().add(item);
+                sum = sum.add(subtotal);
             }
+            return sum;
+        });
 
-            // FIXED: direct BigDecimal from product.price
-            BigDecimal unitPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
-            BigDecimal quantity = BigDecimal.valueOf(itemReq.quantity());
-            BigDecimal subtotal = unitPrice.multiply(quantity);
+        // 4. Insert sale + lines
+        sale.setTotalAmount(total);
+        Sale saved = checkoutMetrics.time(endpoint, Stage.SALE_INSERT, () -> saleRepository.save(sale));
+        publishCompleted(saved);
+
+        // 5. Response DTO (Jackson writing itself is covered by http.server.requests)
+        return checkoutMetrics.time(endpoint, Stage.SERIALIZATION, () -> toResponse(saved));
+    }
+
+    // Delivered after commit (today counters); a rolled-back checkout is never counted
+    private void publishCompleted(Sale sale) {
+        long units = 0;
+        for (SaleItem item : sale.getItems()) {
+            units += item.getQuantity();
+        }
+        eventPublisher.publishEvent(new SaleCompletedEvent(sale.getId(), sale.getSaleDate(), sale.getTotalAmount(), units));
+    }
+
+    private void lockTracked(Product product) {
+        long start = System.nanoTime();
+        productService.lockForUpdate(product);
+        lockContentionTracker.lockAcquired(product.getId(), product.getSku(), System.nanoTime() - start);
+    }
+
+    /**
+     * Offline sales already happened at the counter – they are recorded as-is.
+     * Products are read without a lock and stock moves as a ledger decrement
+     * for this device; OfflineStockLedgerService folds it into stock later and
+     * flags any oversell for reconciliation. A clientSaleId that is already
+     * recorded returns that sale and moves no stock.
+     */
+    @Override
+    @Transactional
+    public SaleResponse recordOfflineSale(CreateSaleRequest request, Long userId, String counterKey) {
+        String endpoint = CheckoutMetrics.SYNC_UPLOAD;
+        CheckoutEvent event = new CheckoutEvent();
+        event.begin();
+        SaleResponse response = null;
+        Outcome outcome = Outcome.ERROR;
+        try {
+            response = doRecordOfflineSale(request, userId, counterKey, endpoint);
+            outcome = Outcome.SUCCESS;
+            return response;
+        } catch (ProductNotFoundException e) {
+            outcome = Outcome.UNKNOWN_PRODUCT;
+            throw e;
+        } finally {
+            checkoutMetrics.outcome(endpoint, outcome);
+            commit(event, endpoint, request.items().size(), response, outcome);
+        }
+    }
+
+    // JFR checkout event; fields are only filled in while a recording wants it
+    private static void commit(CheckoutEvent event, String endpoint, int itemCount,
+                               SaleResponse response, Outcome outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint;
+            event.itemCount = itemCount;
+            event.totalAmount = response != null && response.totalAmount() != null ? response.totalAmount() : 0.0;
+            event.outcome = outcome.tag();
+            event.commit();
+        }
+    }
+
+    private SaleResponse doRecordOfflineSale(CreateSaleRequest request, Long userId, String counterKey, String endpoint) {
+        if (request.clientSaleId() != null) {
+            // Resubmitted upload by the same user: the sale and its ledger decrement are already in
+            Optional<Sale> recorded = saleRepository.findByUserIdAndClientSaleId(userId, request.clientSaleId());
+            if (recorded.isPresent()) {
+                return toResponse(recorded.get());
+            }
+        }
 
-            productService.reduceStock(product, itemReq.quantity());
+        Sale sale = Sale.builder()
+                .saleDate(LocalDateTime.now())
+                .userId(userId)
+                .clientSaleId(request.clientSaleId())
+                .build();
+
+        BigDecimal total = BigDecimal.ZERO;
+        Map<Long, Integer> quantitiesByProduct = new LinkedHashMap<>();
+
+        for (SaleItemRequest itemReq : request.items()) {
+            Product product = checkoutMetrics.time(endpoint, Stage.PRODUCT_LOOKUP, () -> itemReq.productId() != null
+                    ? productService.findProductEntityById(itemReq.productId())
+                    : productService.findProductEntityBySku(itemReq.sku()));
+
+            BigDecimal unitPrice = product.getPrice() != null ? product.getPrice() : BigDecimal.ZERO;
+            BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(itemReq.quantity()));
 
             SaleItem item = SaleItem.builder()
                     .sale(sale)
@@ -75,22 +241,28 @@ public class SaleServiceImpl implements SaleService {
 
             sale.getItems().add(item);
             total = total.add(subtotal);
+            quantitiesByProduct.merge(product.getId(), itemReq.quantity(), Integer::sum);
         }
 
         sale.setTotalAmount(total);
-        Sale saved = saleRepository.save(sale);
-        return toResponse(saved);
+        Sale saved = checkoutMetrics.time(endpoint, Stage.SALE_INSERT, () -> saleRepository.save(sale));
+        publishCompleted(saved);
+        checkoutMetrics.time(endpoint, Stage.STOCK_UPDATE,
+                () -> offlineStockLedgerService.recordDecrements(quantitiesByProduct, counterKey));
+        return checkoutMetrics.time(endpoint, Stage.SERIALIZATION, () -> toResponse(saved));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SaleResponse> getAllSales() {
-        return saleRepository.findAll()
+        return saleRepository.findAllWithItems()
                 .stream()
                 .map(this::toResponse)
                 .toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SaleResponse> getSalesToday() {
         LocalDate today = LocalDate.now();
         return saleRepository
@@ -101,6 +273,7 @@ public class SaleServiceImpl implements SaleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SaleResponse> getSalesLastDays(int days) {
         return saleRepository
                 .findSalesAfterDate(LocalDate.now().minusDays(days).atStartOfDay())
@@ -110,6 +283,7 @@ public class SaleServiceImpl implements SaleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SaleResponse> getRecentSales(int limit) {
         return saleRepository.findRecentSales()
                 .stream()
@@ -118,19 +292,80 @@ public class SaleServiceImpl implements SaleService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public SalesDelta getSalesUpdatedBetween(Long timestamp, long until, int maxLines) {
+        // First sync gets the catalog only; history is backfilled through /sales/history
+        if (timestamp == null || timestamp <= 0) {
+            return new SalesDelta(List.of(), null);
+        }
+
+        List<SaleLineView> lines = saleRepository.findSaleLinesUpdatedBetween(timestamp, until, PageRequest.of(0, maxLines + 1));
+        Long cursor = null;
+        if (lines.size() > maxLines) {
+            // Stop before the millisecond the page ran into, so the cursor never splits it
+            long boundary = lines.get(maxLines).lastUpdated();
+            int end = maxLines;
+            while (end > 0 && lines.get(end - 1).lastUpdated() == boundary) {
+                end--;
+            }
+            if (end > 0) {
+                lines = lines.subList(0, end);
+                cursor = lines.get(end - 1).lastUpdated();
+            } else {
+                lines = saleRepository.findSaleLinesUpdatedAt(boundary);
+                cursor = boundary;
+            }
+        }
+        return new SalesDelta(toResponses(lines), cursor);
+    }
+
+    private static List<SaleResponse> toResponses(List<SaleLineView> page) {
+        // Lines arrive ordered by sale, so one pass groups them while keeping cursor order
+        Map<Long, List<SaleLineView>> linesBySale = new LinkedHashMap<>();
+        for (SaleLineView line : page) {
+            linesBySale.computeIfAbsent(line.saleId(), id -> new ArrayList<>()).add(line);
+        }
+
+        List<SaleResponse> sales = new ArrayList<>(linesBySale.size());
+        for (List<SaleLineView> lines : linesBySale.values()) {
+            SaleLineView head = lines.get(0);
+            List<SaleItemResponse> items = new ArrayList<>(lines.size());
+            for (SaleLineView line : lines) {
+                items.add(new SaleItemResponse(
+                        line.productId(),
+                        line.productName(),
+                        line.productSku(),
+                        line.quantity(),
+                        line.unitPrice() != null ? line.unitPrice().doubleValue() : 0.0,
+                        line.subtotal() != null ? line.subtotal().doubleValue() : 0.0
+                ));
+            }
+            sales.add(new SaleResponse(
+                    head.saleId(),
+                    head.saleDate(),
+                    head.totalAmount() != null ? head.totalAmount().doubleValue() : 0.0,
+                    items
+            ));
+        }
+        return sales;
+    }
+
     @Override
     @Transactional
     public void bulkCreateSales(List<CreateSaleRequest> requests) {
-        requests.forEach(this::createSale);
+        requests.forEach(request -> processSaleItems(request.items(), CheckoutMetrics.SALES_BULK));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SalesHistoryDto> getProductSalesHistoryBySku(String sku, int days) {
         Product product = productService.findProductEntityBySku(sku);
         return getSalesHistoryForProduct(product.getId(), days);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<SalesHistoryDto> getProductSalesHistoryByName(String name, int days) {
         Product product = productService.findProductEntityByName(name);
         return getSalesHistoryForProduct(product.getId(), days);
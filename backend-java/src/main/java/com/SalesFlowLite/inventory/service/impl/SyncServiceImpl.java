@@ -1,21 +1,34 @@
 package com.SalesFlowLite.inventory.service.impl;
 
+import com.SalesFlowLite.inventory.datasource.ReplicaRoutingDataSource;
 import com.SalesFlowLite.inventory.exception.BusinessException;
 import com.SalesFlowLite.inventory.exception.ErrorCode;
+import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleResponse;
+import com.SalesFlowLite.inventory.model.dto.sync.DeviceSyncStatus;
+import com.SalesFlowLite.inventory.model.dto.sync.SalesDelta;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncRequest;
 import com.SalesFlowLite.inventory.model.dto.sync.SyncResponse;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncSaleResult;
 import com.SalesFlowLite.inventory.model.entity.SyncLog;
+import com.SalesFlowLite.inventory.monitoring.jfr.CatalogBuildEvent;
+import com.SalesFlowLite.inventory.monitoring.jfr.SyncUploadEvent;
 import com.SalesFlowLite.inventory.repository.SyncLogRepository;
+import com.SalesFlowLite.inventory.service.DeviceSyncStateService;
+import com.SalesFlowLite.inventory.service.OfflineStockLedgerService;
 import com.SalesFlowLite.inventory.service.ProductService;
 import com.SalesFlowLite.inventory.service.SaleService;
 import com.SalesFlowLite.inventory.service.SyncService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class SyncServiceImpl implements SyncService {
@@ -29,43 +42,177 @@ public class SyncServiceImpl implements SyncService {
     @Autowired
     private SyncLogRepository syncLogRepository;
 
+    @Autowired
+    private DeviceSyncStateService deviceSyncStateService;
+
+    @Value("${app.sync.max-sale-lines:5000}")
+    private int maxSaleLines;
+
+    // last_updated is stamped before commit, so a download only reads up to now minus this lag
+    @Value("${app.sync.cursor-lag-ms:10000}")
+    private long cursorLagMs;
+
     @Override
-    @Transactional
     public SyncResponse processOfflineBatch(SyncRequest syncRequest) {
+        return processOfflineBatch(syncRequest, result -> { });
+    }
+
+    /**
+     * Every sale commits in its own transaction, so one failure never rolls back
+     * the sales before it. Stock is not checked here: offline sales go through the
+     * per-device ledger and oversells surface as stock reconciliations instead.
+     */
+    @Override
+    public SyncResponse processOfflineBatch(SyncRequest syncRequest, Consumer<SyncSaleResult> onResult) {
+        SyncUploadEvent event = new SyncUploadEvent();
+        event.begin();
+
         List<String> conflicts = new ArrayList<>();
         List<String> successes = new ArrayList<>();
 
-        syncRequest.getOfflineSales().forEach(saleRequest -> {
-            try {
-                saleService.createSale(saleRequest);
-                successes.add("Sale synced");
-            } catch (BusinessException e) {
-                if (e.getCode() == ErrorCode.INSUFFICIENT_STOCK) {
-                    conflicts.add("Stock conflict");
-                }
+        List<CreateSaleRequest> offlineSales = syncRequest.getOfflineSales() != null
+                ? syncRequest.getOfflineSales()
+                : List.of();
+
+        String counterKey = OfflineStockLedgerService.counterKey(syncRequest.getUserId(), syncRequest.getDeviceId());
+        for (int i = 0; i < offlineSales.size(); i++) {
+            SyncSaleResult result = processOfflineSale(i, offlineSales.get(i), syncRequest.getUserId(), counterKey);
+            switch (result.status()) {
+                case SyncSaleResult.SYNCED -> successes.add("Sale synced");
+                case SyncSaleResult.CONFLICT -> conflicts.add("Stock conflict");
+                default -> conflicts.add("Sale failed: " + result.message());
             }
-        });
+            onResult.accept(result);
+        }
 
         SyncLog log = new SyncLog();
         log.setUserId(syncRequest.getUserId());
+        log.setDeviceId(syncRequest.getDeviceId());
         log.setSyncTimestamp(Instant.now().toEpochMilli());
         log.setStatus(conflicts.isEmpty() ? "SUCCESS" : "PARTIAL");
         syncLogRepository.save(log);
 
+        long watermark = syncRequest.getOfflineTimestamp() != null
+                ? syncRequest.getOfflineTimestamp()
+                : log.getSyncTimestamp();
+        deviceSyncStateService.recordUpload(syncRequest.getUserId(), syncRequest.getDeviceId(), watermark);
+
         SyncResponse response = new SyncResponse();
+        response.setNewSyncTimestamp(commitSafeCursor());
         response.getSuccesses().addAll(successes);
         response.getConflicts().addAll(conflicts);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.deviceId = syncRequest.getDeviceId();
+            event.batchSize = offlineSales.size();
+            event.synced = successes.size();
+            event.conflicts = conflicts.size();
+            event.commit();
+        }
         return response;
     }
 
+    private SyncSaleResult processOfflineSale(int index, CreateSaleRequest saleRequest, Long userId, String counterKey) {
+        try {
+            return recordOfflineSale(index, saleRequest, userId, counterKey);
+        } catch (DataIntegrityViolationException e) {
+            if (saleRequest.clientSaleId() == null) {
+                return new SyncSaleResult(index, SyncSaleResult.FAILED, null, e.getMessage());
+            }
+            // A concurrent upload of the same sale committed first – recording again returns that sale
+            try {
+                return recordOfflineSale(index, saleRequest, userId, counterKey);
+            } catch (RuntimeException retryFailure) {
+                return new SyncSaleResult(index, SyncSaleResult.FAILED, null, retryFailure.getMessage());
+            }
+        } catch (BusinessException e) {
+            String status = e.getCode() == ErrorCode.INSUFFICIENT_STOCK
+                    ? SyncSaleResult.CONFLICT
+                    : SyncSaleResult.FAILED;
+            return new SyncSaleResult(index, status, null, e.getMessage());
+        } catch (RuntimeException e) {
+            return new SyncSaleResult(index, SyncSaleResult.FAILED, null, e.getMessage());
+        }
+    }
+
+    private SyncSaleResult recordOfflineSale(int index, CreateSaleRequest saleRequest, Long userId, String counterKey) {
+        SaleResponse sale = saleService.recordOfflineSale(saleRequest, userId, counterKey);
+        return new SyncSaleResult(index, SyncSaleResult.SYNCED, sale.id(), null);
+    }
+
     @Override
     public SyncResponse getChangesSince(Long lastSyncTimestamp) {
+        CatalogBuildEvent event = new CatalogBuildEvent();
+        event.begin();
+
         SyncResponse response = new SyncResponse();
+        // A sale stamped below this bound may not have committed yet when the cursor is
+        // younger than the lag, so the page stops there and the next download picks it up
+        long until = Math.max(commitSafeCursor(), lastSyncTimestamp != null ? lastSyncTimestamp : 0L);
 
-        List<com.SalesFlowLite.inventory.model.dto.ProductDto> products =
-                productService.getUpdatedProductsSince(lastSyncTimestamp);
-        response.getUpdatedProducts().addAll(products);
+        // The cursor is the primary's clock, so the delta is read there too
+        ReplicaRoutingDataSource.onPrimary(() -> {
+            SalesDelta sales = saleService.getSalesUpdatedBetween(lastSyncTimestamp, until, maxSaleLines);
+            if (sales.hasMore()) {
+                // A partial page: the catalog and the cursor stop where the sales do
+                response.getUpdatedProducts().addAll(productService.getUpdatedProductsBetween(lastSyncTimestamp, sales.cursor()));
+                response.setNewSyncTimestamp(sales.cursor());
+                response.setHasMore(true);
+            } else {
+                response.getUpdatedProducts().addAll(lastSyncTimestamp == null || lastSyncTimestamp <= 0
+                        ? productService.getUpdatedProductsSince(lastSyncTimestamp)
+                        : productService.getUpdatedProductsBetween(lastSyncTimestamp, until));
+                response.setNewSyncTimestamp(until);
+            }
+            response.getUpdatedSales().addAll(sales.sales());
+        });
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.since = lastSyncTimestamp != null ? lastSyncTimestamp : 0L;
+            event.full = lastSyncTimestamp == null || lastSyncTimestamp == 0L;
+            event.products = response.getUpdatedProducts().size();
+            event.sales = response.getUpdatedSales().size();
+            event.commit();
+        }
         return response;
     }
+
+    /**
+     * Newest cursor no uncommitted change can still fall below: rows are stamped at
+     * persist time, so the lag must outlast the longest checkout transaction plus the
+     * clock skew between application nodes.
+     */
+    private long commitSafeCursor() {
+        return System.currentTimeMillis() - cursorLagMs;
+    }
+
+    @Override
+    public SyncResponse getChangesForDevice(Long userId, String deviceId, Long lastSyncTimestamp) {
+        if (deviceId == null || deviceId.isBlank()) {
+            return getChangesSince(lastSyncTimestamp);
+        }
+
+        long cursor;
+        if (lastSyncTimestamp != null) {
+            // Presenting a timestamp means everything up to it was applied
+            deviceSyncStateService.acknowledge(userId, deviceId, lastSyncTimestamp);
+            cursor = lastSyncTimestamp;
+        } else {
+            deviceSyncStateService.touch(userId, deviceId);
+            cursor = deviceSyncStateService.getAckCursor(userId, deviceId);
+        }
+        return getChangesSince(cursor);
+    }
+
+    @Override
+    public void acknowledge(Long userId, String deviceId, Long cursor) {
+        deviceSyncStateService.acknowledge(userId, deviceId, cursor);
+    }
+
+    @Override
+    public List<DeviceSyncStatus> getLaggingDevices(Duration maxLag, int limit) {
+        return deviceSyncStateService.getLaggingDevices(maxLag, limit);
+    }
 }
\ No newline at end of file
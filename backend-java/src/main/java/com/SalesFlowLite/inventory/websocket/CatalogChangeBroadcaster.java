@@ -0,0 +1,61 @@
+package com.SalesFlowLite.inventory.websocket;
+
+import com.SalesFlowLite.inventory.event.CatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * Turns committed catalog changes into compact push messages.
+ * Serialization happens once per change; the handler only queues it per
+ * session, so the committing request never waits on sockets.
+ *
+ * With app.ws.fanout=postgres (the default) the message goes out as a NOTIFY
+ * inside the changing transaction: PostgreSQL hands it to every node's
+ * {@link CatalogChangeListener} once, and only if the transaction commits.
+ * app.ws.fanout=local skips the database and reaches this node's sessions only.
+ */
+@Component
+public class CatalogChangeBroadcaster {
+
+    static final String CHANNEL = "catalog_changes";
+
+    private final CatalogWebSocketHandler catalogWebSocketHandler;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean clusterFanout;
+
+    public CatalogChangeBroadcaster(CatalogWebSocketHandler catalogWebSocketHandler,
+                                    JdbcTemplate jdbcTemplate,
+                                    @Value("${app.ws.fanout:postgres}") String fanout) {
+        this.catalogWebSocketHandler = catalogWebSocketHandler;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterFanout = "postgres".equalsIgnoreCase(fanout);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void notifyCluster(CatalogChangedEvent event) {
+        if (!clusterFanout) return;
+
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, toJson(event));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (clusterFanout || catalogWebSocketHandler.getSessionCount() == 0) return;
+
+        catalogWebSocketHandler.broadcast(new TextMessage(toJson(event)));
+    }
+
+    static String toJson(CatalogChangedEvent event) {
+        if (event.deleted()) {
+            return "{\"type\":\"product.deleted\",\"productId\":" + event.productId()
+                    + ",\"version\":" + event.version() + "}";
+        }
+        return "{\"type\":\"product.updated\",\"productId\":" + event.productId()
+                + ",\"version\":" + event.version()
+                + ",\"stock\":" + event.stock() + "}";
+    }
+}
@@ -0,0 +1,105 @@
+package com.SalesFlowLite.inventory.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Delivers catalog changes committed on any node to this node's sessions.
+ *
+ * One dedicated connection to the primary LISTENs on the channel
+ * {@link CatalogChangeBroadcaster} NOTIFYs; it is opened outside the Hikari
+ * pool so it never holds a pooled connection. Notifications sent while the
+ * connection was down are lost, so after a reconnect every session gets a
+ * "resync" and catches up with one /sync/download.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ws.fanout", havingValue = "postgres", matchIfMissing = true)
+public class CatalogChangeListener implements SmartLifecycle {
+
+    private static final int POLL_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CatalogWebSocketHandler catalogWebSocketHandler;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::listen, "SalesFlow-catalog-listen");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        thread.interrupt();
+        Connection current = connection;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // Shutting down
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnected = false;
+        while (running) {
+            try (Connection listening = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                connection = listening;
+                try (Statement statement = listening.createStatement()) {
+                    statement.execute("LISTEN " + CatalogChangeBroadcaster.CHANNEL);
+                }
+                if (reconnected) {
+                    catalogWebSocketHandler.broadcast(CatalogWebSocketHandler.RESYNC);
+                }
+
+                PGConnection pg = listening.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_MS);
+                    if (notifications == null || catalogWebSocketHandler.getSessionCount() == 0) continue;
+                    for (PGNotification notification : notifications) {
+                        catalogWebSocketHandler.broadcast(new TextMessage(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Catalog change listener lost its connection, reconnecting: {}", e.getMessage());
+                reconnected = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            } finally {
+                connection = null;
+            }
+        }
+    }
+}
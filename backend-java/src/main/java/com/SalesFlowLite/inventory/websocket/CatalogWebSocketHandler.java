@@ -0,0 +1,222 @@
+package com.SalesFlowLite.inventory.websocket;
+
+import com.SalesFlowLite.inventory.security.UserSecurityVersionRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the connected devices and fans catalog notifications out to them.
+ *
+ * Every session has its own bounded outbox; broadcast only appends to the
+ * outboxes and never touches a socket. A small sender pool drains them, one
+ * task per session with pending messages, so a slow client only fills its own
+ * outbox. When an outbox overflows its backlog is replaced by a single
+ * "resync" message – the device catches up with one /sync/download. A send
+ * blocked longer than send-time-limit-ms fails and closes that session, so a
+ * stalled client holds a sender thread for at most that long.
+ * Idle sessions cost one map entry plus an empty outbox – no thread per client.
+ *
+ * A session lives no longer than the access token it was opened with: a
+ * periodic check closes it once the token expires or the user's security
+ * version moves past it, and the device reconnects with a fresh token.
+ */
+@Slf4j
+@Component
+public class CatalogWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    // Tomcat's per-session limit for a blocking send (default 20 s), as a Long in ms
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    static final TextMessage RESYNC = new TextMessage("{\"type\":\"resync\"}");
+
+    private static final CloseStatus TOKEN_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("token expired");
+
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final long sendTimeLimitMs;
+    private final int outboxCapacity;
+    private final ExecutorService senders;
+    private final UserSecurityVersionRegistry securityVersions;
+    private final long cursorLagMs;
+
+    public CatalogWebSocketHandler(@Value("${app.ws.send-time-limit-ms:5000}") long sendTimeLimitMs,
+                                   @Value("${app.ws.outbox-capacity:256}") int outboxCapacity,
+                                   @Value("${app.ws.sender-threads:4}") int senderThreads,
+                                   @Value("${app.sync.cursor-lag-ms:10000}") long cursorLagMs,
+                                   UserSecurityVersionRegistry securityVersions) {
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.outboxCapacity = outboxCapacity;
+        this.cursorLagMs = cursorLagMs;
+        this.securityVersions = securityVersions;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "SalesFlow-ws-send-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession
+                && nativeSession.getNativeSession() instanceof jakarta.websocket.Session standard) {
+            standard.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+        }
+        Outbox outbox = new Outbox(session);
+        outboxes.put(session.getId(), outbox);
+
+        // Cursor to pass to /sync/download once, after which pushes keep the device current.
+        // Held back like a download's cursor, so changes still committing are not skipped
+        long cursor = System.currentTimeMillis() - cursorLagMs;
+        outbox.offer(new TextMessage("{\"type\":\"hello\",\"cursor\":" + cursor + "}"));
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(JwtHandshakeInterceptor.TOKEN_SUBPROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        outboxes.remove(session.getId());
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        afterConnectionClosed(session, CloseStatus.SERVER_ERROR);
+        session.close(CloseStatus.SERVER_ERROR);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // Push-only channel; client messages (pings) are ignored
+    }
+
+    /**
+     * Queues one pre-serialized message for every open session. Never blocks on I/O.
+     */
+    public void broadcast(TextMessage message) {
+        for (Outbox outbox : outboxes.values()) {
+            outbox.offer(message);
+        }
+    }
+
+    public int getSessionCount() {
+        return outboxes.size();
+    }
+
+    /**
+     * Closes sessions whose token has expired or was revoked by a security
+     * version bump, as the REST filter would reject that token now.
+     */
+    @Scheduled(fixedDelayString = "${app.ws.session-check-ms:5000}")
+    public void closeUnauthorizedSessions() {
+        long now = System.currentTimeMillis();
+        for (Outbox outbox : outboxes.values()) {
+            Map<String, Object> attributes = outbox.session.getAttributes();
+            Long expiresAt = (Long) attributes.get(JwtHandshakeInterceptor.EXPIRES_AT_ATTRIBUTE);
+            Long userId = (Long) attributes.get(JwtHandshakeInterceptor.USER_ID_ATTRIBUTE);
+            Integer version = (Integer) attributes.get(JwtHandshakeInterceptor.SECURITY_VERSION_ATTRIBUTE);
+
+            boolean expired = expiresAt == null || now >= expiresAt;
+            boolean revoked = userId != null && version != null && !securityVersions.isCurrent(userId, version);
+            if (expired || revoked) {
+                outboxes.remove(outbox.session.getId());
+                try {
+                    outbox.session.close(TOKEN_EXPIRED);
+                } catch (IOException | RuntimeException ignored) {
+                    // Already gone
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void drop(WebSocketSession session, Exception cause) {
+        log.debug("Dropping WebSocket session {}: {}", session.getId(), cause.getMessage());
+        outboxes.remove(session.getId());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | RuntimeException ignored) {
+            // Already gone
+        }
+    }
+
+    /**
+     * Pending messages of one session. At most one drain task per outbox is
+     * queued or running, so sends to a session stay in order and never overlap.
+     */
+    private final class Outbox {
+
+        private final WebSocketSession session;
+        private final ArrayDeque<TextMessage> pending = new ArrayDeque<>();
+        private boolean draining;   // guarded by pending
+
+        Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        void offer(TextMessage message) {
+            synchronized (pending) {
+                if (pending.size() >= outboxCapacity) {
+                    pending.clear();
+                    message = RESYNC;
+                }
+                pending.addLast(message);
+                if (draining) return;
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RuntimeException e) {
+                synchronized (pending) {
+                    draining = false;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                TextMessage next;
+                synchronized (pending) {
+                    next = pending.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (!session.isOpen()) {
+                    outboxes.remove(session.getId());
+                    return;
+                }
+                try {
+                    session.sendMessage(next);
+                } catch (IOException | RuntimeException e) {
+                    drop(session, e);
+                    return;
+                }
+            }
+        }
+    }
+}
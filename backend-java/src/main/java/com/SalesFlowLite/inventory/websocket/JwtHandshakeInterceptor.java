@@ -0,0 +1,99 @@
+package com.SalesFlowLite.inventory.websocket;
+
+import com.SalesFlowLite.inventory.security.JwtService;
+import com.SalesFlowLite.inventory.security.UserSecurityVersionRegistry;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authenticates the WebSocket upgrade with the same access token and checks as
+ * the REST API (JwtAuthenticationFilter). Browsers cannot set headers on a
+ * WebSocket, so they send the token as the second of two subprotocols,
+ * "access_token" and the token itself – unlike a query parameter, it stays out
+ * of proxy and access logs. The handler closes the session once the token expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String PHONE_ATTRIBUTE = "phoneNumber";
+    public static final String USER_ID_ATTRIBUTE = "userId";
+    public static final String SECURITY_VERSION_ATTRIBUTE = "securityVersion";
+    public static final String EXPIRES_AT_ATTRIBUTE = "expiresAt";
+
+    // Subprotocol naming the one after it as the access token
+    public static final String TOKEN_SUBPROTOCOL = "access_token";
+
+    private final JwtService jwtService;
+    private final UserSecurityVersionRegistry securityVersions;
+    private final UserDetailsService userDetailsService;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = null;
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            token = jwtService.extractJwtFromHeader(servletRequest.getServletRequest());
+        }
+        if (token == null) {
+            token = tokenFromSubprotocols(request.getHeaders().get("Sec-WebSocket-Protocol"));
+        }
+
+        try {
+            Claims claims = token != null ? jwtService.verifyAccessToken(token) : null;
+            if (claims != null && claims.getSubject() != null && isCurrent(claims, attributes)) {
+                attributes.put(PHONE_ATTRIBUTE, claims.getSubject());
+                attributes.put(EXPIRES_AT_ATTRIBUTE, claims.getExpiration().getTime());
+                return true;
+            }
+        } catch (Exception e) {
+            // Invalid token – fall through to 401
+        }
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return false;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    // Same rule as the REST filter: a password or role change revokes older tokens
+    private boolean isCurrent(Claims claims, Map<String, Object> attributes) {
+        Number uid = claims.get("uid", Number.class);
+        if (uid == null) {
+            // Legacy token without "uid": the user must still exist
+            return claims.getSubject().equals(userDetailsService.loadUserByUsername(claims.getSubject()).getUsername());
+        }
+        Number sv = claims.get("sv", Number.class);
+        int version = sv != null ? sv.intValue() : 0;
+        if (!securityVersions.isCurrent(uid.longValue(), version)) {
+            return false;
+        }
+        attributes.put(USER_ID_ATTRIBUTE, uid.longValue());
+        attributes.put(SECURITY_VERSION_ATTRIBUTE, version);
+        return true;
+    }
+
+    private static String tokenFromSubprotocols(List<String> headers) {
+        if (headers == null) return null;
+        String[] protocols = String.join(",", headers).split(",");
+        for (int i = 0; i < protocols.length - 1; i++) {
+            if (TOKEN_SUBPROTOCOL.equals(protocols[i].trim())) {
+                return protocols[i + 1].trim();
+            }
+        }
+        return null;
+    }
+}
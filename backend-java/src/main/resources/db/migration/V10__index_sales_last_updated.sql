@@ -0,0 +1,3 @@
+-- V10__index_sales_last_updated.sql
+-- Sync download pulls sales changed since a device cursor, ordered by (last_updated, id)
+CREATE INDEX IF NOT EXISTS idx_sales_last_updated_id ON sales(last_updated, id);
@@ -0,0 +1,33 @@
+-- V11__offline_stock_counters.sql
+-- ========================================
+-- V11 — Offline stock movements as per-device PN-counters
+-- ========================================
+
+-- One row per (product, device). decrements/increments only ever grow, so
+-- concurrent uploads from different devices never touch the same row and
+-- merging is plain addition. folded = net amount already applied to products.
+CREATE TABLE IF NOT EXISTS offline_stock_counters (
+    product_id BIGINT NOT NULL,
+    device_id VARCHAR(100) NOT NULL,
+    decrements BIGINT NOT NULL DEFAULT 0,
+    increments BIGINT NOT NULL DEFAULT 0,
+    folded BIGINT NOT NULL DEFAULT 0,
+    updated_at BIGINT NOT NULL,
+    PRIMARY KEY (product_id, device_id),
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+    );
+-- Only rows with something left to fold are indexed
+CREATE INDEX IF NOT EXISTS idx_offline_stock_counters_pending
+    ON offline_stock_counters(product_id) WHERE decrements - increments <> folded;
+
+-- Oversold offline stock waiting for a human decision
+CREATE TABLE IF NOT EXISTS stock_reconciliations (
+    id BIGSERIAL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    product_sku VARCHAR(255) NOT NULL,
+    shortfall BIGINT NOT NULL CHECK (shortfall > 0),
+    detected_at BIGINT NOT NULL,
+    resolved BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+    );
+CREATE INDEX IF NOT EXISTS idx_stock_reconciliations_open ON stock_reconciliations(resolved, detected_at);
@@ -0,0 +1,12 @@
+-- V12__user_security_version.sql
+-- ========================================
+-- V12 — Per-user security version for stateless token checks
+-- ========================================
+
+-- Bumped whenever a user's password or role changes. Access tokens carry the
+-- version they were issued with ("sv" claim); a lower version is rejected.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_version INTEGER NOT NULL DEFAULT 0;
+
+-- Startup seeding only needs users that have ever been bumped
+CREATE INDEX IF NOT EXISTS idx_users_security_version
+    ON users(security_version) WHERE security_version > 0;
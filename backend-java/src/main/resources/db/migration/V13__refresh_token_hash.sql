@@ -0,0 +1,21 @@
+-- V13__refresh_token_hash.sql
+-- ========================================
+-- V13 — Refresh tokens stored as SHA-256 hashes, indexed for purge
+-- ========================================
+
+-- Fixed-length lookup key; the raw token is only ever held by the client
+ALTER TABLE refresh_tokens ADD COLUMN IF NOT EXISTS token_hash VARCHAR(64);
+
+UPDATE refresh_tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens ALTER COLUMN token_hash SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_refresh_tokens_token_hash ON refresh_tokens(token_hash);
+
+DROP INDEX IF EXISTS idx_refresh_token_token;
+ALTER TABLE refresh_tokens DROP COLUMN IF EXISTS token;
+
+-- Purge job scans by expiry; per-user revocation deletes by user_id
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens(user_id);
@@ -0,0 +1,10 @@
+-- V14__sale_client_sale_id.sql
+-- ========================================
+-- V14 — Client-generated sale id, so a resubmitted offline upload is a no-op
+-- ========================================
+
+ALTER TABLE sales ADD COLUMN IF NOT EXISTS client_sale_id VARCHAR(64);
+
+-- Online sales have none; only offline ones are deduplicated
+CREATE UNIQUE INDEX IF NOT EXISTS idx_sales_client_sale_id ON sales(client_sale_id)
+    WHERE client_sale_id IS NOT NULL;
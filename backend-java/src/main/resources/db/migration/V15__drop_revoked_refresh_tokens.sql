@@ -0,0 +1,7 @@
+-- V15__drop_revoked_refresh_tokens.sql
+-- ========================================
+-- V15 — Revocation deletes rows; clear the ones flagged before it did
+-- ========================================
+
+-- The purge job now only scans idx_refresh_tokens_expires_at
+DELETE FROM refresh_tokens WHERE revoked;
@@ -0,0 +1,12 @@
+-- V16__sale_client_sale_id_per_user.sql
+-- ========================================
+-- V16 — Offline sale ids are unique per uploading user, not across the shop
+-- ========================================
+
+-- Client sale ids come from the device, so another user's upload may reuse one
+ALTER TABLE sales ADD COLUMN IF NOT EXISTS user_id BIGINT;
+
+-- Sales recorded before this have no user and stay out of deduplication
+DROP INDEX IF EXISTS idx_sales_client_sale_id;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_sales_user_client_sale_id ON sales(user_id, client_sale_id)
+    WHERE client_sale_id IS NOT NULL;
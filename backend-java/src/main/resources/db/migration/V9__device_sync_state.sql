@@ -0,0 +1,23 @@
+-- V9__device_sync_state.sql
+-- ========================================
+-- V9 — Per-device sync cursors + sync_logs housekeeping
+-- ========================================
+
+-- DEVICE SYNC STATE (one row per user/device, upserted in batches)
+CREATE TABLE IF NOT EXISTS device_sync_state (
+    user_id BIGINT NOT NULL,
+    device_id VARCHAR(100) NOT NULL,
+    last_ack_cursor BIGINT NOT NULL DEFAULT 0,
+    last_upload_watermark BIGINT NOT NULL DEFAULT 0,
+    last_seen_at BIGINT NOT NULL,
+    PRIMARY KEY (user_id, device_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+    );
+CREATE INDEX IF NOT EXISTS idx_device_sync_state_ack_cursor ON device_sync_state(last_ack_cursor);
+
+-- SYNC LOGS: device attribution + retention scans
+ALTER TABLE sync_logs ADD COLUMN IF NOT EXISTS device_id VARCHAR(100);
+CREATE INDEX IF NOT EXISTS idx_sync_logs_sync_timestamp ON sync_logs(sync_timestamp);
+
+-- PRODUCTS: pending-delta counts per device cursor
+CREATE INDEX IF NOT EXISTS idx_products_last_updated ON products(last_updated);
@@ -0,0 +1,40 @@
+package com.SalesFlowLite.inventory.analytics;
+
+import com.SalesFlowLite.inventory.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Past max-lines the oldest chunk is dropped, and queries reaching into the
+ * dropped days are refused instead of answered short.
+ */
+class SalesColumnStoreTest {
+
+    private static final int CHUNK = 65_536;
+    private static final LocalDate DAY_ONE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void oldestChunkIsDroppedPastMaxLines() {
+        SalesColumnStore store = new SalesColumnStore(new SimpleMeterRegistry(), CHUNK);
+        appendDay(store, DAY_ONE, CHUNK);
+        appendDay(store, DAY_ONE.plusDays(1), 10);
+        store.publish(CHUNK + 10, true);
+
+        assertEquals(10, store.status().getLines());
+        assertEquals(CHUNK, store.status().getEvictedLines());
+        assertEquals(DAY_ONE.plusDays(1), store.status().getCompleteFrom());
+        assertEquals(10, store.total(DAY_ONE.plusDays(1), DAY_ONE.plusDays(2), null).getLines());
+        assertThrows(BusinessException.class, () -> store.total(DAY_ONE, DAY_ONE.plusDays(2), null));
+    }
+
+    private static void appendDay(SalesColumnStore store, LocalDate day, int lines) {
+        for (int i = 0; i < lines; i++) {
+            store.append(1L, "SKU-1", "Product", (int) day.toEpochDay(), 1, 100);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.SalesFlowLite.inventory.controller;
+
+import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleItemRequest;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.monitoring.QueryCountFilter;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.service.SaleService;
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import com.SalesFlowLite.inventory.support.QueryBudget;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the sales read endpoints: the cost must not grow
+ * with the number of sales or lines returned.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class SaleControllerQueryBudgetTest {
+
+    private static final int PRODUCTS = 5;
+    private static final int SALES = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SaleService saleService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    // Runs before the budget scope of each test opens
+    @BeforeAll
+    void seed() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Budget product " + i)
+                    .sku("BUDGET-" + i)
+                    .price(BigDecimal.valueOf(100 + i))
+                    .stockQuantity(10_000)
+                    .lowStockThreshold(5)
+                    .build()));
+        }
+        for (int i = 0; i < SALES; i++) {
+            saleService.createSale(new CreateSaleRequest(List.of(
+                    new SaleItemRequest(products.get(i % PRODUCTS).getId(), null, 1),
+                    new SaleItemRequest(products.get((i + 1) % PRODUCTS).getId(), null, 2)), null));
+        }
+    }
+
+    @Test
+    @QueryBudget(1)
+    void listingSalesIsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(SALES))
+                .andExpect(jsonPath("$[0].items.length()").value(2))
+                .andExpect(header().string(QueryCountFilter.HEADER, "1"));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void skuHistoryIsProductLookupPlusOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/sales/history/by-sku/BUDGET-0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity").value(SALES / PRODUCTS * 3));
+    }
+}
@@ -0,0 +1,46 @@
+package com.SalesFlowLite.inventory.monitoring;
+
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Server-Timing is written as the response commits, without buffering the body.
+ */
+@SpringBootTest(properties = {
+        "app.server-timing.enabled=true",
+        "app.frontend.origins=https://shop.example"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+class ServerTimingFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void timingHeadersAreSetOnTheCommittedResponse() throws Exception {
+        mockMvc.perform(get("/api/v1/sales"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingFilter.HEADER, containsString("total;dur=")))
+                .andExpect(header().string("Timing-Allow-Origin", "https://shop.example"));
+    }
+}
@@ -0,0 +1,47 @@
+package com.SalesFlowLite.inventory.security;
+
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The filter buffers login bodies to read the phone number; a body over the
+ * limit must be refused, never handed to the controller cut short.
+ */
+@SpringBootTest(properties = "app.security.rate-limit.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void oversizedLoginBodyIsRejectedWith413() throws Exception {
+        String body = "{\"phoneNumber\":\"0700000000\",\"password\":\"" + "x".repeat(16 * 1024) + "\"}";
+
+        // Tomcat maps the dispatcher at "/", so the servlet path is the whole path
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .servletPath("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.code").value("PAYLOAD_TOO_LARGE"));
+    }
+}
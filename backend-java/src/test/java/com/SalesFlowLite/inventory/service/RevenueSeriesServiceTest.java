@@ -0,0 +1,147 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.SaleCompletedEvent;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueBucket;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueBucketSize;
+import com.SalesFlowLite.inventory.model.dto.analytics.RevenueSeries;
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Buckets follow the requested zone's calendar across DST changes, and a sale
+ * committed into a closed bucket is never hidden by the cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RevenueSeriesServiceTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Autowired
+    private RevenueSeriesService revenueSeriesService;
+
+    @Autowired
+    private RevenueSeriesCache revenueSeriesCache;
+
+    @Autowired
+    private ShopClock shopClock;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void hourBucketsFollowDstChanges() {
+        // 2026-03-08: 02:00 EST jumps to 03:00 EDT; 2025-11-02: 01:00–02:00 happens twice
+        insertSale(ZonedDateTime.of(2026, 3, 8, 1, 30, 0, 0, NEW_YORK), "1.00");
+        insertSale(ZonedDateTime.of(2026, 3, 8, 3, 30, 0, 0, NEW_YORK), "2.00");
+        insertSale(ZonedDateTime.of(2025, 11, 2, 1, 30, 0, 0, NEW_YORK), "4.00");
+        insertSale(ZonedDateTime.of(2025, 11, 2, 1, 30, 0, 0, NEW_YORK).withLaterOffsetAtOverlap(), "8.00");
+
+        List<RevenueBucket> springForward = series("2026-03-08", "2026-03-09", "hour").getBuckets();
+        assertEquals(23, springForward.size());
+        assertEquals(1L, springForward.get(1).getSales());
+        assertEquals(1L, springForward.get(2).getSales());
+        assertEquals(3, springForward.get(2).getStart().getHour());
+
+        List<RevenueBucket> fallBack = series("2025-11-02", "2025-11-03", "hour").getBuckets();
+        assertEquals(25, fallBack.size());
+        assertEquals(new BigDecimal("4.00"), fallBack.get(1).getRevenue());
+        assertEquals(new BigDecimal("8.00"), fallBack.get(2).getRevenue());
+        assertEquals(ZoneOffset.ofHours(-5), fallBack.get(2).getStart().getOffset());
+    }
+
+    @Test
+    void dayWeekAndMonthBucketsUseLocalMidnight() {
+        // 2025-03-09 is a 23-hour Sunday; 23:30 EDT there is already Monday in UTC
+        insertSale(ZonedDateTime.of(2025, 3, 9, 23, 30, 0, 0, NEW_YORK), "1.00");
+        insertSale(ZonedDateTime.of(2025, 3, 10, 0, 30, 0, 0, NEW_YORK), "2.00");
+        insertSale(ZonedDateTime.of(2025, 3, 31, 23, 30, 0, 0, NEW_YORK), "4.00");
+        insertSale(ZonedDateTime.of(2025, 4, 1, 0, 30, 0, 0, NEW_YORK), "8.00");
+
+        assertEquals(List.of(0L, 1L, 1L), sales(series("2025-03-08", "2025-03-11", "day")));
+        assertEquals(List.of(1L, 1L), sales(series("2025-03-03", "2025-03-17", "week")));
+
+        RevenueSeries months = series("2025-03-01", "2025-05-01", "month");
+        assertEquals(List.of(3L, 1L), sales(months));
+        assertEquals(new BigDecimal("7.00"), months.getBuckets().get(0).getRevenue());
+    }
+
+    @Test
+    void saleCommittedIntoACachedClosedBucketEvictsIt() {
+        ZonedDateTime bucket = ZonedDateTime.of(2026, 1, 5, 0, 0, 0, 0, ZoneOffset.UTC);
+        insertSale(bucket.plusHours(10), "10.00");
+        assertEquals(new BigDecimal("10.00"), series("2026-01-05", "2026-01-06", "day", "UTC").getTotalRevenue());
+
+        // A long checkout stamped inside the bucket commits after it was cached
+        transactionTemplate.executeWithoutResult(tx -> {
+            LocalDateTime saleDate = insertSale(bucket.plusHours(12), "5.00");
+            eventPublisher.publishEvent(new SaleCompletedEvent(null, saleDate, new BigDecimal("5.00"), 1));
+        });
+
+        assertEquals(new BigDecimal("15.00"), series("2026-01-05", "2026-01-06", "day", "UTC").getTotalRevenue());
+    }
+
+    @Test
+    void totalsReadAcrossALateSaleAreNotCached() {
+        ZonedDateTime bucket = ZonedDateTime.of(2026, 2, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+        RevenueSeriesCache.Key key = new RevenueSeriesCache.Key(RevenueBucketSize.DAY, ZoneOffset.UTC,
+                bucket.toEpochSecond());
+
+        long generation = revenueSeriesCache.beginRead(Instant.now().minusSeconds(60));
+        revenueSeriesCache.onSaleCompleted(new SaleCompletedEvent(null,
+                shopClock.toStorageTime(bucket.plusHours(1)), BigDecimal.ONE, 1));
+        revenueSeriesCache.put(key, new RevenueSeriesCache.Totals(BigDecimal.ZERO, 0), generation);
+
+        assertNull(revenueSeriesCache.get(key));
+    }
+
+    private LocalDateTime insertSale(ZonedDateTime at, String amount) {
+        LocalDateTime saleDate = shopClock.toStorageTime(at);
+        jdbcTemplate.update("INSERT INTO sales (sale_date, total_amount) VALUES (?, ?)",
+                saleDate, new BigDecimal(amount));
+        return saleDate;
+    }
+
+    private RevenueSeries series(String from, String to, String bucket) {
+        return series(from, to, bucket, NEW_YORK.getId());
+    }
+
+    private RevenueSeries series(String from, String to, String bucket, String zone) {
+        return revenueSeriesService.getRevenueSeries(LocalDate.parse(from), LocalDate.parse(to), bucket, zone);
+    }
+
+    private static List<Long> sales(RevenueSeries series) {
+        return series.getBuckets().stream().map(RevenueBucket::getSales).toList();
+    }
+}
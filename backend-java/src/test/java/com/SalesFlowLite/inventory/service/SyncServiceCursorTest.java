@@ -0,0 +1,100 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleItemRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleResponse;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncResponse;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The sync cursor must never pass a sale that is stamped but not yet committed:
+ * last_updated is set at persist time, long before the checkout commits.
+ */
+@SpringBootTest(properties = "app.sync.cursor-lag-ms=1000")
+@ActiveProfiles("test")
+class SyncServiceCursorTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void saleCommittingAfterADownloadComesWithTheNextOne() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Cursor product")
+                .sku("CURSOR-0")
+                .price(BigDecimal.TEN)
+                .stockQuantity(100)
+                .lowStockThreshold(5)
+                .build());
+        long start = System.currentTimeMillis() - 60_000;
+
+        // Stamp the sale, then hold its transaction open across a download
+        CompletableFuture<SaleResponse> stamped = new CompletableFuture<>();
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> checkout = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(tx -> {
+            stamped.complete(saleService.createSale(new CreateSaleRequest(
+                    List.of(new SaleItemRequest(product.getId(), null, 1)), null)));
+            try {
+                commit.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        long saleId = stamped.get(10, TimeUnit.SECONDS).id();
+        Thread.sleep(50);
+
+        SyncResponse during = syncService.getChangesSince(start);
+        assertFalse(contains(during, saleId));
+
+        commit.countDown();
+        checkout.get(10, TimeUnit.SECONDS);
+
+        // Keep downloading from the cursor handed out while the sale was in flight
+        long cursor = during.getNewSyncTimestamp();
+        boolean delivered = false;
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!delivered && System.currentTimeMillis() < deadline) {
+            SyncResponse next = syncService.getChangesSince(cursor);
+            delivered = contains(next, saleId);
+            cursor = next.getNewSyncTimestamp();
+            Thread.sleep(100);
+        }
+        assertTrue(delivered, "sale committed after the download's cursor was handed out never synced");
+    }
+
+    private static boolean contains(SyncResponse response, long saleId) {
+        return response.getUpdatedSales().stream().anyMatch(sale -> sale.id() == saleId);
+    }
+}
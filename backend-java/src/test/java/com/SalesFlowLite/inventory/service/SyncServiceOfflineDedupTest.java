@@ -0,0 +1,84 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleItemRequest;
+import com.SalesFlowLite.inventory.model.dto.sync.SyncRequest;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.repository.SaleRepository;
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Resubmitted offline uploads are deduplicated per user: a client sale id only
+ * identifies a sale together with the user who uploaded it.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncServiceOfflineDedupTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void sameClientSaleIdFromAnotherUserIsItsOwnSale() {
+        Product product = productRepository.save(Product.builder()
+                .name("Dedup product")
+                .sku("DEDUP-0")
+                .price(BigDecimal.TEN)
+                .stockQuantity(100)
+                .lowStockThreshold(5)
+                .build());
+        CreateSaleRequest sale = new CreateSaleRequest(
+                List.of(new SaleItemRequest(product.getId(), null, 1)), "shared-client-id");
+
+        syncService.processOfflineBatch(upload(1L, sale));
+        syncService.processOfflineBatch(upload(1L, sale));
+        syncService.processOfflineBatch(upload(2L, sale));
+
+        assertEquals(2, saleRepository.count());
+        assertFalse(saleRepository.findByUserIdAndClientSaleId(2L, "shared-client-id").isEmpty());
+    }
+
+    @Test
+    void oversizedClientSaleIdIsRejectedBeforeRecording() {
+        CreateSaleRequest sale = new CreateSaleRequest(
+                List.of(new SaleItemRequest(1L, null, 1)), "x".repeat(65));
+
+        assertFalse(validator.validate(upload(1L, sale)).isEmpty());
+    }
+
+    private static SyncRequest upload(Long userId, CreateSaleRequest sale) {
+        SyncRequest request = new SyncRequest();
+        request.setUserId(userId);
+        request.setDeviceId("device-" + userId);
+        request.setOfflineSales(List.of(sale));
+        return request;
+    }
+}
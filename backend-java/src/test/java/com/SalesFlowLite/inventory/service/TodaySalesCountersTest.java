@@ -0,0 +1,109 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.model.dto.CreateSaleRequest;
+import com.SalesFlowLite.inventory.model.dto.SaleItemRequest;
+import com.SalesFlowLite.inventory.model.dto.TodaySalesSummary;
+import com.SalesFlowLite.inventory.model.entity.Product;
+import com.SalesFlowLite.inventory.repository.ProductRepository;
+import com.SalesFlowLite.inventory.repository.SaleRepository;
+import com.SalesFlowLite.inventory.support.PostgresTestDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * A sale committed while reconcile() reads the database is counted once,
+ * whether its commit landed before or after the query's snapshot.
+ */
+@SpringBootTest(properties = "app.sales.today.reconcile-interval-ms=3600000")
+@ActiveProfiles("test")
+class TodaySalesCountersTest {
+
+    private static final String CORRECTIONS = "salesflow.sales.today.reconcile_corrections";
+
+    @Autowired
+    private TodaySalesCounters todaySalesCounters;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private SaleRepository saleRepository;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.register(registry);
+    }
+
+    @Test
+    void saleCommittedDuringAReconcileIsCountedOnce() throws Exception {
+        Product product = productRepository.save(Product.builder()
+                .name("Counter product")
+                .sku("COUNTER-0")
+                .price(BigDecimal.TEN)
+                .stockQuantity(100)
+                .lowStockThreshold(5)
+                .build());
+        // Let the startup reconciliation finish so ours is not skipped
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (todaySalesCounters.summary().getReconciledAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        double correctionsBefore = meterRegistry.counter(CORRECTIONS).count();
+
+        sell(product);
+
+        // One sale commits before the recent-sales query reads, one after it. The
+        // repository is a JDK proxy, so its spy's default answer delegates to it
+        Answer<?> real = mockingDetails(saleRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicBoolean armed = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (!armed.compareAndSet(true, false)) {
+                return real.answer(invocation);
+            }
+            sell(product);
+            Object rows = real.answer(invocation);
+            sell(product);
+            return rows;
+        }).when(saleRepository).listSalesByHour(any(), any(), any(), any());
+
+        todaySalesCounters.reconcile();
+
+        assertFalse(armed.get(), "reconcile did not read recent sales");
+        TodaySalesSummary summary = todaySalesCounters.summary();
+        assertEquals(3L, summary.getSales());
+        assertEquals(3L, summary.getUnits());
+        assertEquals(new BigDecimal("30.00"), summary.getRevenue());
+        assertEquals(correctionsBefore, meterRegistry.counter(CORRECTIONS).count());
+    }
+
+    // Committed on another thread, so its after-commit event arrives while reconcile() runs
+    private void sell(Product product) throws Exception {
+        CompletableFuture.runAsync(() -> saleService.createSale(new CreateSaleRequest(
+                List.of(new SaleItemRequest(product.getId(), null, 1)), null))).get(10, TimeUnit.SECONDS);
+    }
+}
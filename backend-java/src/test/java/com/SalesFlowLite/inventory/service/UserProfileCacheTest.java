@@ -0,0 +1,52 @@
+package com.SalesFlowLite.inventory.service;
+
+import com.SalesFlowLite.inventory.event.UserProfileChangedEvent;
+import com.SalesFlowLite.inventory.model.entity.User;
+import com.SalesFlowLite.inventory.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A profile loaded while an update commits must not outlive the eviction.
+ */
+class UserProfileCacheTest {
+
+    private static final String PHONE = "0700000001";
+
+    @Test
+    void loadOverlappingAnEvictionIsNotCached() {
+        UserRepository users = mock(UserRepository.class);
+        UserProfileCache cache = new UserProfileCache(users);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+
+        User before = user("before", LocalDateTime.of(2026, 1, 1, 0, 0));
+        User after = user("after", LocalDateTime.of(2026, 1, 1, 0, 5));
+        // The first read sees the old row; the update commits and evicts before it is cached
+        when(users.findByPhoneNumber(PHONE))
+                .thenAnswer(invocation -> {
+                    cache.onUserProfileChanged(new UserProfileChangedEvent(PHONE));
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+
+        assertEquals("before", cache.get(PHONE).user().getUsername());
+        assertEquals("after", cache.get(PHONE).user().getUsername());
+    }
+
+    private static User user(String username, LocalDateTime updatedAt) {
+        return User.builder()
+                .id(1L)
+                .phoneNumber(PHONE)
+                .username(username)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.SalesFlowLite.inventory.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One in-process PostgreSQL for the whole test run, so tests run the real
+ * Flyway migrations and native queries (no H2 dialect gaps). Every registration
+ * gets its own empty database, so test classes never see each other's rows.
+ *
+ *   @DynamicPropertySource
+ *   static void datasource(DynamicPropertyRegistry registry) {
+ *       PostgresTestDatabase.register(registry);
+ *   }
+ */
+public final class PostgresTestDatabase {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static void register(DynamicPropertyRegistry registry) {
+        String database = "test_" + DATABASES.incrementAndGet();
+        try (Connection connection = start().getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot create test database " + database, e);
+        }
+        String url = postgres.getJdbcUrl("postgres", database);
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    private static synchronized EmbeddedPostgres start() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start embedded PostgreSQL", e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // Process is exiting anyway
+                }
+            }));
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,31 @@
+package com.SalesFlowLite.inventory.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when it sends more SQL statements than allowed.
+ *
+ *   @Test
+ *   @QueryBudget(2)
+ *   void salesListIsNotNPlusOne() throws Exception {
+ *       mockMvc.perform(get("/api/v1/sales")).andExpect(status().isOk());
+ *   }
+ *
+ * Counts statements on the test thread (MockMvc, direct service calls), so it
+ * does not see requests served by a RANDOM_PORT server thread.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * Maximum statements the test method may execute.
+     */
+    long value();
+}
@@ -0,0 +1,39 @@
+package com.SalesFlowLite.inventory.support;
+
+import com.SalesFlowLite.inventory.monitoring.QueryCounter;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Opens a {@link QueryCounter} scope around each {@link QueryBudget} test and
+ * compares the statement count with the budget afterwards.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), QueryCounter.open());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryCounter.Scope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), QueryCounter.Scope.class);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (budget != null && scope.count() > budget.value()) {
+            throw new AssertionFailedError(String.format(
+                    "%s executed %d SQL statements, budget is %d – check for N+1 queries",
+                    context.getDisplayName(), scope.count(), budget.value()),
+                    budget.value(), scope.count());
+        }
+    }
+}
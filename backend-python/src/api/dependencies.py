@@ -87,7 +87,8 @@ def get_current_user(
     user: Dict[str, Any] = {
         "user_id": payload.get("sub"),
         "username": payload.get("username"),
-        "roles": payload.get("roles", []),
+        # Java issues a single "role" claim
+        "roles": payload.get("roles") or ([payload["role"]] if payload.get("role") else []),
         "token": token,
         "mode": "PROD",
     }
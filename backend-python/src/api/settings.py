@@ -25,9 +25,20 @@ def str_to_bool(value: str) -> bool:
 # - Determines whether to use mock FAKE_PRODUCTS / FAKE_SALES
 DEV_MODE = str_to_bool(os.getenv("DEV_MODE", "false"))
 
-# Secret used for verifying Java JWT tokens
+# Secret used for verifying Java JWT tokens (HS256 / legacy tokens)
 JAVA_JWT_SECRET = os.getenv("JAVA_JWT_SECRET")
 
+# Java public signing keys (RS256/ES256), e.g. http://localhost:8080/.well-known/jwks.json
+# When set, tokens are verified locally with the cached public keys.
+JAVA_JWKS_URL = os.getenv("JAVA_JWKS_URL", "")
+JAVA_JWKS_CACHE_SECONDS = int(os.getenv("JAVA_JWKS_CACHE_SECONDS", "300"))
+
+# With JAVA_JWKS_URL set, Java signs RS256/ES256 and HS256 tokens are only legacy ones:
+# accepted if issued before this ISO-8601 instant (Java's app.jwt.legacy-hs256-issued-before)
+# and for at most JAVA_ACCESS_TOKEN_TTL_SECONDS after it. Unset → HS256 is rejected.
+JAVA_JWT_HS256_ISSUED_BEFORE = os.getenv("JAVA_JWT_HS256_ISSUED_BEFORE", "")
+JAVA_ACCESS_TOKEN_TTL_SECONDS = int(os.getenv("JAVA_ACCESS_TOKEN_TTL_SECONDS", "3600"))
+
 
 # ---------------------------------------------------------
 # 🧠 MACHINE LEARNING SETTINGS
@@ -51,8 +62,8 @@ JAVA_API_URL = os.getenv("JAVA_API_URL", "http://localhost:8080/api/v1")
 # 🚨 VALIDATION & DEBUG
 # ---------------------------------------------------------
 
-if not JAVA_JWT_SECRET:
-    print("⚠ WARNING: JAVA_JWT_SECRET is not set. Java JWT validation may fail.")
+if not JAVA_JWT_SECRET and not JAVA_JWKS_URL:
+    print("⚠ WARNING: neither JAVA_JWKS_URL nor JAVA_JWT_SECRET is set. Java JWT validation may fail.")
 
 print(f"🔧 SETTINGS LOADED:")
 print(f"   DEV_MODE      = {DEV_MODE}")
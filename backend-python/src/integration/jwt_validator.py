@@ -1,25 +1,130 @@
 # src/integration/jwt_validator.py
 
+import threading
+import time
+from datetime import datetime
+
+import httpx
 from fastapi import HTTPException, Header
+from starlette.concurrency import run_in_threadpool
 from jose import jwt, JWTError
 from jose.constants import ALGORITHMS
-from typing import Dict, Any
-from src.api.settings import JAVA_JWT_SECRET
+from typing import Dict, Any, List, Optional
+from src.api.settings import (
+    JAVA_JWT_SECRET,
+    JAVA_JWKS_URL,
+    JAVA_JWKS_CACHE_SECONDS,
+    JAVA_JWT_HS256_ISSUED_BEFORE,
+    JAVA_ACCESS_TOKEN_TTL_SECONDS,
+)
 
 
 class JavaJWTValidator:
     """
-    Validates JWT tokens issued by the Java Spring Boot backend.
-    Uses HS256 shared secret and forces issuer = 'salesflow-app'.
+    Validates JWT tokens issued by the Java Spring Boot backend, locally.
+
+    - RS256 / ES256 tokens: verified with the public keys published by Java
+      at /.well-known/jwks.json (JAVA_JWKS_URL). Keys are cached for
+      JAVA_JWKS_CACHE_SECONDS and refetched early when a token names a kid
+      we have not seen yet (key rotation). One request refetches at a time,
+      outside the lock; the others keep using the cached keys, and only a
+      request whose kid is unknown waits for the refetch.
+    - HS256 tokens: verified with the shared JAVA_JWT_SECRET. Without
+      JAVA_JWKS_URL, Java runs with app.jwt.algorithm=HS256 and they are the
+      only kind. With it they are legacy tokens: accepted only if issued
+      before JAVA_JWT_HS256_ISSUED_BEFORE and until one token lifetime after
+      it, since anyone holding the secret can mint them.
+
+    Issuer is always forced to 'salesflow-app'.
     """
 
+    # Minimum gap between two refetches triggered by an unknown kid
+    UNKNOWN_KID_REFETCH_SECONDS = 30
+
     def __init__(self):
         self.secret_key = JAVA_JWT_SECRET
-        self.algorithm = ALGORITHMS.HS256
+        self.jwks_url = JAVA_JWKS_URL
+        self.jwks_cache_seconds = JAVA_JWKS_CACHE_SECONDS
         self.expected_issuer = "salesflow-app"
+        self.hs256_cutover: Optional[float] = (
+            datetime.fromisoformat(JAVA_JWT_HS256_ISSUED_BEFORE.replace("Z", "+00:00")).timestamp()
+            if JAVA_JWT_HS256_ISSUED_BEFORE
+            else None
+        )
+        self.access_token_ttl = JAVA_ACCESS_TOKEN_TTL_SECONDS
+
+        self._jwks: Dict[str, Dict[str, Any]] = {}
+        self._jwks_fetched_at = float("-inf")
+        self._last_fetch_attempt = float("-inf")
+        self._refreshing = False
+        self._refreshed = threading.Condition()
+
+        if not self.secret_key and not self.jwks_url:
+            raise RuntimeError("Set JAVA_JWKS_URL and/or JAVA_JWT_SECRET to validate Java tokens.")
 
+    # --------------------------------------------------------------
+    # INTERNAL: JWKS cache
+    # --------------------------------------------------------------
+    def _fetch_jwks(self) -> Dict[str, Dict[str, Any]]:
+        response = httpx.get(self.jwks_url, timeout=3.0)
+        response.raise_for_status()
+        keys: List[Dict[str, Any]] = response.json().get("keys", [])
+        return {k["kid"]: k for k in keys if "kid" in k}
+
+    def _public_key(self, kid: Optional[str]) -> Dict[str, Any]:
+        if not self.jwks_url:
+            raise HTTPException(401, "Asymmetric tokens not accepted (JAVA_JWKS_URL not set)")
+        if not kid:
+            raise HTTPException(401, "Token has no key id")
+
+        with self._refreshed:
+            now = time.monotonic()
+            key = self._jwks.get(kid)
+            stale = now - self._jwks_fetched_at > self.jwks_cache_seconds
+            unknown = key is None and now - self._last_fetch_attempt > self.UNKNOWN_KID_REFETCH_SECONDS
+            refresh = (stale or unknown) and not self._refreshing
+            if refresh:
+                self._refreshing = True
+                self._last_fetch_attempt = now
+            elif key is None and self._refreshing:
+                # Another request is fetching – the new kid is probably in there
+                self._refreshed.wait_for(lambda: not self._refreshing, timeout=5.0)
+                key = self._jwks.get(kid)
+
+        if refresh:
+            # Network call without the lock: readers keep serving cached keys meanwhile
+            fetched: Optional[Dict[str, Dict[str, Any]]] = None
+            error: Optional[Exception] = None
+            try:
+                fetched = self._fetch_jwks()
+            except Exception as e:
+                error = e
+            with self._refreshed:
+                if fetched is not None:
+                    self._jwks = fetched
+                    self._jwks_fetched_at = time.monotonic()
+                self._refreshing = False
+                self._refreshed.notify_all()
+                key = self._jwks.get(kid)
+                have_keys = bool(self._jwks)
+            # Keep serving from the cached keys if Java is briefly unreachable
+            if error is not None and not have_keys:
+                raise HTTPException(503, f"Cannot fetch Java JWKS: {str(error)}")
+
+        if key is None:
+            raise HTTPException(401, "Unknown token signing key")
+        return key
+
+    def _accepts_hs256(self, token: str) -> bool:
         if not self.secret_key:
-            raise RuntimeError("JAVA_JWT_SECRET missing in environment variables.")
+            return False
+        if not self.jwks_url:
+            return True
+        if self.hs256_cutover is None or time.time() >= self.hs256_cutover + self.access_token_ttl:
+            return False
+        # Signature is checked right after; iat only decides which key may verify it
+        issued_at = jwt.get_unverified_claims(token).get("iat")
+        return isinstance(issued_at, (int, float)) and issued_at < self.hs256_cutover
 
     # --------------------------------------------------------------
     # INTERNAL: Validate JWT payload structure
@@ -29,10 +134,22 @@ class JavaJWTValidator:
             raise HTTPException(401, "Missing token")
 
         try:
+            header = jwt.get_unverified_header(token)
+            algorithm = header.get("alg")
+
+            if algorithm == ALGORITHMS.HS256:
+                if not self._accepts_hs256(token):
+                    raise HTTPException(401, "HS256 tokens are no longer accepted")
+                key: Any = self.secret_key
+            elif algorithm in (ALGORITHMS.RS256, ALGORITHMS.ES256):
+                key = self._public_key(header.get("kid"))
+            else:
+                raise HTTPException(401, f"Unsupported token algorithm: {algorithm}")
+
             payload = jwt.decode(
                 token,
-                self.secret_key,
-                algorithms=[self.algorithm],
+                key,
+                algorithms=[algorithm],
                 issuer=self.expected_issuer,
                 options={
                     "verify_signature": True,
@@ -42,6 +159,9 @@ class JavaJWTValidator:
             )
             return payload
 
+        except HTTPException:
+            raise
+
         except jwt.ExpiredSignatureError:
             raise HTTPException(401, "Token expired")
 
@@ -70,8 +190,8 @@ class JavaJWTValidator:
 
         token = authorization.replace("Bearer ", "").strip()
 
-        # Validate payload integrity
-        self.validate(token)
+        # Validate payload integrity (may fetch the JWKS: keep it off the event loop)
+        await run_in_threadpool(self.validate, token)
 
         # Return raw token — required for Java forwarding
         return token